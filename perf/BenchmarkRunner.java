@@ -0,0 +1,45 @@
+package perf;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite and writes the results as JSON.
+ * </p>
+ * Usage: {@code BenchmarkRunner [regex] [result file]}. The regex selects the benchmarks to be run
+ * and defaults to all benchmarks of this package, the results are written to {@code jmh-result.json}
+ * by default. Every benchmark runs in a fresh JVM with a fixed heap and fixed iterations, and all
+ * input is generated from {@link Workloads#SEED}, so results of different runs can be compared.
+ * Must be started from the repository root.
+ * </p>
+ * Setting the system property {@code perf.alloc} adds the allocation profiler of JMH, which reports
+ * the allocated bytes per operation next to the timings, e.g.
+ * {@code java -Dperf.alloc -jar perf/build/benchmarks.jar GraphBenchmark}.
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = "perf\\..*";
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    private BenchmarkRunner() {
+        throw new IllegalStateException();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : DEFAULT_INCLUDE)
+                .jvmArgsAppend("-Xms2g", "-Xmx2g", "-Djava.awt.headless=true")
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : DEFAULT_RESULT);
+
+        if (System.getProperty("perf.alloc") != null) {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package perf;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.graph.graph.interfaces.Graph;
+import src.graph.vertices.Vertex;
+import src.util.Graphs;
+import src.util.queues.IndexedIntMinHeap;
+
+/**
+ * Compares the queue implementations inside {@link Graphs#dijkstra(Graph, int, int)}.
+ * {@code IndexedIntMinHeap} is the primitive baseline, all others are {@code PriorityQueue}s
+ * of vertices. These queue all vertices up front, {@code Lazy} is the default Dijkstra, which
+ * only queues reached vertices.
+ * </p>
+ * The workloads range from sparse meshes to {@code dense} graphs, where most edges decrease the
+ * priority of a queued vertex. {@code Heap} is a Pairing Heap and {@code FibonacciHeap} decreases
+ * priorities in constant amortized time, which pays off the more edges every vertex has.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DijkstraBenchmark {
+
+    @Param({"mesh-100", "donut-300", "rnd-100", "dense-500", "dense-1500", "Graph2.dat"})
+    public String workload;
+
+    @Param({"BinaryHeap", "Heap", "FibonacciHeap", "IndexedIntMinHeap", "Lazy"})
+    public String queue;
+
+    private Graph graph;
+    private int t;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Workloads.graph(workload);
+        t = graph.sizeVertices() - 1;
+    }
+
+    @Benchmark
+    public List<Vertex> dijkstra() {
+        if (queue.equals("Lazy")) {
+            return Graphs.dijkstra(graph, 0, t);
+        }
+        if (queue.equals("IndexedIntMinHeap")) {
+            return Graphs.dijkstra(graph, 0, t, new IndexedIntMinHeap(graph.sizeVertices()));
+        }
+        return Graphs.dijkstra(graph, 0, t, Workloads.<Vertex>queue(queue));
+    }
+}
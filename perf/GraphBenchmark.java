@@ -0,0 +1,88 @@
+package perf;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.graph.graph.interfaces.Graph;
+import src.graph.graph.interfaces.Tree;
+import src.graph.graph.interfaces.UndirectedGraph;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.vertices.Vertex;
+import src.util.Graphs;
+import src.util.ShortestPath;
+
+/**
+ * Benchmarks the algorithms of {@link Graphs} on every workload. Paths are searched between
+ * the first and the last vertex, which are far apart on all generated meshes. A* falls back to
+ * Dijkstra on workloads that are not meshes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+    @Param({"mesh-100", "mesh-300", "implicit-100", "implicit-300", "donut-100", "donut-300", "rnd-100", "rnd-300", "Graph2.dat"})
+    public String workload;
+
+    private Graph graph;
+    private int s;
+    private int t;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = Workloads.graph(workload);
+        s = 0;
+        t = graph.sizeVertices() - 1;
+    }
+
+    @Benchmark
+    public List<Vertex> bfs() {
+        return Graphs.bfs(graph, s, t);
+    }
+
+    @Benchmark
+    public List<Vertex> dijkstra() {
+        return Graphs.dijkstra(graph, s, t);
+    }
+
+    @Benchmark
+    public ShortestPath shortestPath() {
+        return Graphs.shortestPath(graph, s, t);
+    }
+
+    @Benchmark
+    public ShortestPath bidirectionalDijkstra() {
+        return Graphs.bidirectionalDijkstra(graph, s, t);
+    }
+
+    @Benchmark
+    public ShortestPath aStar() {
+        return graph instanceof Mesh2D mesh ? Graphs.aStar(mesh, s, t) : Graphs.shortestPath(graph, s, t);
+    }
+
+    @Benchmark
+    public Tree mst() {
+        return Graphs.mst(graph);
+    }
+
+    @Benchmark
+    public boolean isCoherent() {
+        return Graphs.isCoherent((UndirectedGraph) graph);
+    }
+}
@@ -0,0 +1,82 @@
+package perf;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import src.util.queues.PriorityQueue;
+
+/**
+ * Benchmarks the {@link PriorityQueue} implementations on their own. The elements are boxed
+ * once during setup, thus only the queue operations are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueueBenchmark {
+
+    @Param({"BinaryHeap", "Heap", "FibonacciHeap"})
+    public String queue;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Integer[] elements;
+    private int[] priorities;
+    private int[] decreased;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(Workloads.SEED);
+
+        elements = new Integer[size];
+        priorities = new int[size];
+        decreased = new int[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+            priorities[i] = random.nextInt(size);
+            decreased[i] = random.nextInt(priorities[i] + 1);
+        }
+    }
+
+    @Benchmark
+    public void pushPop(Blackhole bh) {
+        PriorityQueue<Integer> heap = Workloads.queue(queue);
+        for (int i = 0; i < size; i++) {
+            heap.push(elements[i], priorities[i]);
+        }
+        while (!heap.isEmpty()) {
+            bh.consume(heap.popMin());
+        }
+    }
+
+    @Benchmark
+    public void decreaseKey(Blackhole bh) {
+        PriorityQueue<Integer> heap = Workloads.queue(queue);
+        for (int i = 0; i < size; i++) {
+            heap.push(elements[i], priorities[i]);
+        }
+        for (int i = 0; i < size; i += 2) {
+            heap.decPrio(elements[i], decreased[i]);
+        }
+        while (!heap.isEmpty()) {
+            bh.consume(heap.popMin());
+        }
+    }
+}
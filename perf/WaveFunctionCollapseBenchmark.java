@@ -0,0 +1,48 @@
+package perf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.algorithms.wfca.WaveFunctionCollapse;
+import src.algorithms.wfca.rulesets.PatternRuleset;
+import src.algorithms.wfca.rulesets.Ruleset;
+import src.graph.graph.interfaces.Graph;
+import target.GraphLoader;
+
+/**
+ * Benchmarks the {@link WaveFunctionCollapse} with a {@link PatternRuleset}, which is not a bitmask
+ * ruleset, thus the possibilities of every vertex are kept as sets of integers. The mesh is created
+ * anew for every run, as the algorithm writes its result into the mesh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WaveFunctionCollapseBenchmark {
+
+    private static final int[][] PATTERN = {{1, 1, 2}, {1, 2, 2}, {2, 2, 3}};
+
+    @Param({"50", "100"})
+    public int size;
+
+    @Benchmark
+    public Graph pattern() {
+        Graph graph = new GraphLoader().arrayMesh2D(size, size);
+        Ruleset ruleset = new PatternRuleset(PATTERN);
+
+        new WaveFunctionCollapse(graph, ruleset, Workloads.SEED).run();
+        return graph;
+    }
+}
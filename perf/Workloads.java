@@ -0,0 +1,102 @@
+package perf;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+import src.graph.graph.abstracts.ArrayGraph.Layout;
+import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.undirected.UndirectedWeightedArrayGraph;
+import src.util.queues.BinaryHeap;
+import src.util.queues.FibonacciHeap;
+import src.util.queues.Heap;
+import src.util.queues.PriorityQueue;
+import target.GraphLoader;
+
+/**
+ * The graphs and queues shared by all benchmarks. Workloads are named by a short spec, so they
+ * can be used as JMH parameters:
+ * <ul>
+ * <li>{@code mesh-<size>} a square {@code GraphLoader#arrayMesh2D}</li>
+ * <li>{@code implicit-<size>} a square {@code GraphLoader#implicitMesh2D}</li>
+ * <li>{@code donut-<size>} a square {@code GraphLoader#donut}</li>
+ * <li>{@code rnd-<size>} the {@code GraphLoader#rnd} graph with {@code size * size} vertices</li>
+ * <li>{@code dense-<size>} a random dense {@code UndirectedWeightedArrayGraph} with {@code size} vertices,
+ * connecting every pair of vertices with a probability of one half</li>
+ * <li>{@code <file>.dat} a graph file from the {@code files} folder, e.g. {@code Graph2.dat}</li>
+ * </ul>
+ * Benchmarks must be started from the repository root, for the files to be found.
+ */
+public final class Workloads {
+
+    /**
+     * The seed used for all randomly generated benchmark input.
+     */
+    public static final long SEED = 314159265358979L;
+
+    private Workloads() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Creates the graph described by the spec.
+     * @param spec The name of the workload
+     * @return A new graph
+     */
+    public static Graph graph(String spec) {
+        GraphLoader graphLoader = new GraphLoader();
+
+        if (spec.endsWith(".dat")) {
+            try {
+                return graphLoader.loadFromFile(spec);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        String[] parts = spec.split("-");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Unknown workload %s.".formatted(spec));
+        }
+
+        int size = Integer.parseInt(parts[1]);
+        return switch (parts[0]) {
+            case "mesh" -> graphLoader.arrayMesh2D(size, size);
+            case "implicit" -> graphLoader.implicitMesh2D(size, size);
+            case "donut" -> graphLoader.donut(size);
+            case "rnd" -> graphLoader.rnd(size);
+            case "dense" -> dense(size);
+            default -> throw new IllegalArgumentException("Unknown workload %s.".formatted(spec));
+        };
+    }
+
+    private static Graph dense(int size) {
+        Random random = new Random(SEED);
+        Graph graph = new UndirectedWeightedArrayGraph(size, Layout.DENSE);
+
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (random.nextBoolean()) {
+                    graph.addEdge(i, j, 1 + random.nextInt(100));
+                }
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Creates an empty queue of the given implementation.
+     * @param <T> The type of the elements
+     * @param name The simple class name of the queue
+     * @return A new queue
+     */
+    public static <T> PriorityQueue<T> queue(String name) {
+        return switch (name) {
+            case "BinaryHeap" -> new BinaryHeap<>();
+            case "Heap" -> new Heap<>();
+            case "FibonacciHeap" -> new FibonacciHeap<>();
+            default -> throw new IllegalArgumentException("Unknown queue %s.".formatted(name));
+        };
+    }
+}
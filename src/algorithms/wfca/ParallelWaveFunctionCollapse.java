@@ -0,0 +1,460 @@
+package src.algorithms.wfca;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import src.algorithms.wfca.rulesets.BitmaskRuleset;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.util.queues.IndexedIntMinHeap;
+
+/**
+ * A parallel variant of the {@link WaveFunctionCollapse} for large meshes.
+ * </p>
+ * The mesh is partitioned into square tiles. In the first phase the tiles are collapsed
+ * concurrently on a {@link ForkJoinPool}, every tile on its own without looking at its
+ * neighbouring tiles. In the second phase the tile seams are reconciled: every vertex
+ * violating a rule with a vertex of another tile is repaired by clearing a small patch around
+ * it and collapsing the patch again, constrained by its surroundings. If the patch can not be solved the radius is increased, the last
+ * attempt places errors ({@code -1}) like the sequential algorithm does.
+ * </p>
+ * Every tile and every patch draws from its own random generator derived from the seed, and
+ * the seams are repaired sequentially in ascending order of their keys. Thus the result only
+ * depends on the seed and the tile size, but not on the amount of threads.
+ * </p>
+ * Only {@link BitmaskRuleset}s are supported.
+ *
+ * @author likenus
+ *
+ * @see WaveFunctionCollapse
+ */
+public class ParallelWaveFunctionCollapse implements Runnable {
+
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private static final int[] REPAIR_RADII = {2, 4, 8};
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Mesh2D mesh;
+    private final BitmaskRuleset ruleset;
+    private final long seed;
+    private final int tileSize;
+    private final int threads;
+
+    private final int width;
+    private final int height;
+    private final int tilesX;
+    private final int tilesY;
+    private final long tileMask;
+    private final long[][] compatible;
+
+    private final long[] domains;
+    private final int[] values;
+    private final boolean[] isCollapsed;
+    private final int[] owner;
+    private final int[] local;
+
+    private int repairCounter = 0;
+    private int errorCounter = 0;
+
+    /**
+     * Initializes a new parallel Wave Function Collapse using the default tile size and
+     * one thread per available processor.
+     *
+     * @param mesh    The mesh to be collapsed
+     * @param ruleset The ruleset
+     * @param seed    The seed
+     */
+    public ParallelWaveFunctionCollapse(Mesh2D mesh, BitmaskRuleset ruleset, long seed) {
+        this(mesh, ruleset, seed, DEFAULT_TILE_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes a new parallel Wave Function Collapse.
+     *
+     * @param mesh     The mesh to be collapsed
+     * @param ruleset  The ruleset
+     * @param seed     The seed
+     * @param tileSize The width and height of the tiles that are collapsed concurrently
+     * @param threads  The amount of worker threads
+     */
+    public ParallelWaveFunctionCollapse(Mesh2D mesh, BitmaskRuleset ruleset, long seed, int tileSize, int threads) {
+        Objects.requireNonNull(mesh);
+        Objects.requireNonNull(ruleset);
+
+        if (tileSize < 1 || threads < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        this.mesh = mesh;
+        this.ruleset = ruleset;
+        this.seed = seed;
+        this.tileSize = tileSize;
+        this.threads = threads;
+
+        this.width = mesh.getWidth();
+        this.height = mesh.getHeight();
+        this.tilesX = (width + tileSize - 1) / tileSize;
+        this.tilesY = (height + tileSize - 1) / tileSize;
+        this.tileMask = ruleset.tileMask();
+
+        long[][] masks = WaveFunctionCollapse.compatibleMasks(ruleset);
+        this.compatible = new long[DIRECTIONS.length][];
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            compatible[d] = masks[masks.length == 1 ? 0 : d];
+        }
+
+        int n = width * height;
+        this.domains = new long[n];
+        this.values = new int[n];
+        this.isCollapsed = new boolean[n];
+        this.owner = new int[n];
+        this.local = new int[n];
+    }
+
+    @Override
+    public void run() {
+        for (int key = 0; key < owner.length; key++) {
+            owner[key] = tileOf(key);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new TileTask(0, tilesX * tilesY));
+        } finally {
+            pool.shutdown();
+        }
+
+        reconcile();
+
+        errorCounter = 0;
+        for (int key = 0; key < values.length; key++) {
+            mesh.setValue(key, values[key]);
+            if (values[key] == -1) {
+                errorCounter++;
+            }
+        }
+    }
+
+    private int tileOf(int key) {
+        return (key / width / tileSize) * tilesX + (key % width) / tileSize;
+    }
+
+    private void collapseTile(int tile) {
+        int x0 = (tile % tilesX) * tileSize;
+        int y0 = (tile / tilesX) * tileSize;
+        int x1 = Math.min(x0 + tileSize, width);
+        int y1 = Math.min(y0 + tileSize, height);
+
+        int[] keys = new int[(x1 - x0) * (y1 - y0)];
+        int i = 0;
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                keys[i++] = y * width + x;
+            }
+        }
+
+        new Region(keys, tile, false, true, new Random(mix(seed, tile))).solve();
+    }
+
+    /**
+     * Repairs all vertices that break a rule with a vertex of another tile.
+     */
+    private void reconcile() {
+        int patchId = -1;
+
+        for (int key = 0; key < values.length; key++) {
+            if (!isConflict(key)) {
+                continue;
+            }
+
+            repairCounter++;
+            for (int r = 0; r < REPAIR_RADII.length; r++) {
+                boolean lastAttempt = r == REPAIR_RADII.length - 1;
+                int[] patch = patch(key, REPAIR_RADII[r], patchId--);
+                long[] oldDomains = new long[patch.length];
+                int[] oldValues = new int[patch.length];
+                for (int i = 0; i < patch.length; i++) {
+                    oldDomains[i] = domains[patch[i]];
+                    oldValues[i] = values[patch[i]];
+                }
+
+                Random rnd = new Random(mix(seed, -1 - (long) key * REPAIR_RADII.length - r));
+                if (new Region(patch, owner[key], true, lastAttempt, rnd).solve()) {
+                    break;
+                }
+
+                for (int i = 0; i < patch.length; i++) {
+                    domains[patch[i]] = oldDomains[i];
+                    values[patch[i]] = oldValues[i];
+                    isCollapsed[patch[i]] = true;
+                }
+            }
+        }
+    }
+
+    private boolean isConflict(int key) {
+        if (values[key] == -1) {
+            return false;
+        }
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            int u = mesh.neighbour(key, DIRECTIONS[d]);
+            if (u != -1 && values[u] != -1 && tileOf(u) != tileOf(key)
+                    && (compatible[d][values[u]] & (1L << values[key])) == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Collects all vertices within the given distance of a vertex and marks them with the id.
+     */
+    private int[] patch(int key, int radius, int id) {
+        int[] keys = new int[16];
+        int[] distances = new int[16];
+        int size = 0;
+
+        keys[size] = key;
+        distances[size++] = 0;
+        owner[key] = id;
+
+        for (int head = 0; head < size; head++) {
+            if (distances[head] == radius) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                int u = mesh.neighbour(keys[head], direction);
+                if (u == -1 || owner[u] == id) {
+                    continue;
+                }
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, 2 * size);
+                    distances = Arrays.copyOf(distances, 2 * size);
+                }
+                owner[u] = id;
+                keys[size] = u;
+                distances[size++] = distances[head] + 1;
+            }
+        }
+
+        return Arrays.copyOf(keys, size);
+    }
+
+    private static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns the amount of vertices that had to be repaired after collapsing the tiles.
+     *
+     * @return The amount of repairs
+     */
+    public int getRepairCount() {
+        return repairCounter;
+    }
+
+    public int getErrorCount() {
+        return errorCounter;
+    }
+
+    /**
+     * Getter for {@link #mesh}.
+     *
+     * @return The underlying mesh
+     */
+    public Mesh2D getGraph() {
+        return mesh;
+    }
+
+    /**
+     * Getter for {@link #ruleset}.
+     *
+     * @return The ruleset
+     */
+    public BitmaskRuleset getRuleset() {
+        return ruleset;
+    }
+
+    @SuppressWarnings("serial")
+    private final class TileTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+
+        TileTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                collapseTile(from);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new TileTask(from, mid), new TileTask(mid, to));
+        }
+    }
+
+    /**
+     * A set of vertices that is collapsed like a small sequential wave. All vertices
+     * marked with the same owner id belong to the region.
+     */
+    private final class Region {
+
+        private final int[] keys;
+        private final int id;
+        private final boolean bounded;
+        private final boolean tolerant;
+        private final Random rnd;
+
+        private final IndexedIntMinHeap notCollapsed;
+        private final int[] worklist;
+        private final long[] queued;
+        private int worklistHead = 0;
+        private int worklistSize = 0;
+
+        /**
+         * @param keys     The vertices of the region
+         * @param id       The owner id of the vertices, must not be used by any other region
+         * @param bounded  Whether the collapsed vertices surrounding the region restrict it
+         * @param tolerant Whether contradictions are placed as errors instead of failing
+         * @param rnd      The random generator
+         */
+        Region(int[] keys, int id, boolean bounded, boolean tolerant, Random rnd) {
+            this.keys = keys;
+            this.id = id;
+            this.bounded = bounded;
+            this.tolerant = tolerant;
+            this.rnd = rnd;
+
+            this.notCollapsed = new IndexedIntMinHeap(keys.length);
+            this.worklist = new int[keys.length];
+            this.queued = new long[(keys.length + Long.SIZE - 1) / Long.SIZE];
+        }
+
+        /**
+         * Collapses all vertices of the region.
+         *
+         * @return False if a contradiction was found and the region is not tolerant
+         */
+        boolean solve() {
+            for (int i = 0; i < keys.length; i++) {
+                owner[keys[i]] = id;
+                local[keys[i]] = i;
+                domains[keys[i]] = tileMask;
+                isCollapsed[keys[i]] = false;
+            }
+
+            if (bounded) {
+                for (int key : keys) {
+                    enqueue(key);
+                }
+                propagate();
+            }
+
+            int start = rnd.nextInt(keys.length);
+            for (int i = 0; i < keys.length; i++) {
+                if (i != start) {
+                    notCollapsed.push(i, Long.bitCount(domains[keys[i]]));
+                }
+            }
+
+            if (!collapse(keys[start])) {
+                return false;
+            }
+            while (!notCollapsed.isEmpty()) {
+                if (!collapse(keys[notCollapsed.popMin()])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private boolean collapse(int key) {
+            long domain = domains[key];
+            isCollapsed[key] = true;
+
+            if (domain == 0) {
+                if (!tolerant) {
+                    return false;
+                }
+                values[key] = -1;
+                domains[key] = tileMask; // Errors do not restrict their neighbours
+                return true;
+            }
+
+            int value = WaveFunctionCollapse.nthTile(domain, rnd.nextInt(Long.bitCount(domain)));
+            values[key] = value;
+            domains[key] = 1L << value;
+
+            enqueueNeighbours(key);
+            propagate();
+            return true;
+        }
+
+        private void propagate() {
+            while (worklistSize > 0) {
+                int v = worklist[worklistHead];
+                worklistHead = (worklistHead + 1) % worklist.length;
+                worklistSize--;
+                queued[local[v] >>> 6] &= ~(1L << local[v]);
+
+                if (!isCollapsed[v] && update(v) && domains[v] != 0) {
+                    enqueueNeighbours(v);
+                }
+            }
+        }
+
+        private boolean update(int v) {
+            long domain = domains[v];
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int u = mesh.neighbour(v, DIRECTIONS[d]);
+                if (u != -1 && (bounded || owner[u] == id) && domains[u] != 0) {
+                    domain &= WaveFunctionCollapse.union(domains[u], compatible[d]);
+                }
+            }
+
+            if (domain == domains[v]) {
+                return false;
+            }
+
+            domains[v] = domain;
+            notCollapsed.decPrio(local[v], Long.bitCount(domain));
+            return true;
+        }
+
+        private void enqueueNeighbours(int key) {
+            for (Direction direction : DIRECTIONS) {
+                int u = mesh.neighbour(key, direction);
+                if (u != -1 && owner[u] == id) {
+                    enqueue(u);
+                }
+            }
+        }
+
+        private void enqueue(int v) {
+            int i = local[v];
+            if (isCollapsed[v] || (queued[i >>> 6] & (1L << i)) != 0) {
+                return;
+            }
+
+            queued[i >>> 6] |= 1L << i;
+            worklist[(worklistHead + worklistSize) % worklist.length] = v;
+            worklistSize++;
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package src.algorithms.wfca;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
 
+import src.algorithms.wfca.rulesets.BitmaskRuleset;
+import src.algorithms.wfca.rulesets.CompiledRuleset;
 import src.algorithms.wfca.rulesets.Ruleset;
-import src.graph.vertices.Vertex;
 import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.CsrGraph;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.vertices.Vertex;
 import src.rendering.GraphRenderer;
-import src.util.queues.BinaryHeap;
-import target.Runner;
+import src.util.collections.IntSet;
+import src.util.queues.BucketQueue;
+import src.util.queues.IndexedIntMinHeap;
+import src.util.queues.IntPriorityQueue;
 
 /**
  * The Wave Function Collapse Algorithm, is an algorithm for procedual
@@ -35,6 +43,11 @@ import target.Runner;
  * evaluation or retrieved via {@link #getGraph()}. To start the algorithm
  * simply use {@link #run()} implemented via the {@code Runnable} interface.
  * </p>
+ * If the ruleset is a {@link BitmaskRuleset}, the possibilities of every vertex are
+ * stored as a mask of tiles in a {@code long[]}. Propagating a change then only needs
+ * AND/OR operations on the precomputed masks of the ruleset and allocates no objects.
+ * Other rulesets can be turned into bitmask rulesets with {@link CompiledRuleset#compile}.
+ * </p>
  * This algorithm runs in estimated O(n log n) time.
  * 
  * @version 3.0
@@ -46,13 +59,30 @@ import target.Runner;
 public class WaveFunctionCollapse implements Runnable {
     
     private static final int UPDATES_PER_RENDER = 2000;
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     private final List<Boolean> isCollapsed = new ArrayList<>();
-    private final BinaryHeap<Vertex> notCollapsed = new BinaryHeap<>();
+    private final IntPriorityQueue notCollapsed;
     private final List<Set<Integer>> possibilities = new ArrayList<>();
 
+    // Bitmask mode, see BitmaskRuleset
+    private final long[] domains;
+    private final long[][] compatible;
+    private final long tileMask;
+    private final CsrGraph adjacency;
+    private final Mesh2D mesh;
+
+    // Propagation worklist, a ring buffer of keys and a bitmap of the queued keys
+    private final int[] worklist;
+    private final long[] queued;
+    private int worklistHead = 0;
+    private int worklistSize = 0;
+
+    private final int[] propagationCounts;
+    private int collapseCounter = 0;
 
     GraphRenderer renderer;
+    private boolean animated = true;
     private Vertex[] updatedSinceRender = new Vertex[UPDATES_PER_RENDER];
     private int renderCounter = 0;
 
@@ -64,37 +94,97 @@ public class WaveFunctionCollapse implements Runnable {
 
     private int errorCounter = 0;
 
-    //#region - constructor -
-    private WaveFunctionCollapse(Graph graph, Ruleset ruleset, Random rnd) {
+    /**
+     * The possibilities as seen by the ruleset. Vertices without any possibility are
+     * presented with their initial possibilities, so they do not restrict their neighbours.
+     */
+    private final List<Set<Integer>> constraints = new AbstractList<>() {
+        @Override
+        public Set<Integer> get(int index) {
+            Set<Integer> possibleInts = possibilities.get(index);
+            return possibleInts.isEmpty() ? ruleset.initialPossibilities(graph.parseVertex(index)) : possibleInts;
+        }
 
-        for (int i = 0; i < graph.sizeVertices(); i++) {
-            possibilities.add(new HashSet<>());
+        @Override
+        public int size() {
+            return possibilities.size();
         }
+    };
+
+    //#region - constructor -
+    private WaveFunctionCollapse(Graph graph, Ruleset ruleset, Random rnd, IntPriorityQueue queue) {
 
         this.rnd = rnd;
         this.graph = graph;
         this.n = graph.sizeVertices();
         this.ruleset = ruleset;
+        this.notCollapsed = queue == null ? new IndexedIntMinHeap(n) : queue;
 
         this.startVertex = this.graph.parseVertex(rnd.nextInt(n));
+        this.worklist = new int[n];
+        this.queued = new long[(n + Long.SIZE - 1) / Long.SIZE];
+        this.propagationCounts = new int[n];
+
+        if (ruleset instanceof BitmaskRuleset masks) {
+            if (masks.isDirectional() && !(graph instanceof Mesh2D)) {
+                throw new IllegalArgumentException("Directional rulesets can only be used on a Mesh2D.");
+            }
+
+            this.tileMask = masks.tileMask();
+            this.compatible = compatibleMasks(masks);
+            this.mesh = masks.isDirectional() ? (Mesh2D) graph : null;
+            this.adjacency = masks.isDirectional() ? null : CsrGraph.of(graph);
+            this.domains = new long[n];
+            Arrays.fill(domains, tileMask);
+
+            for (int i = 0; i < n; i++) {
+                if (i != startVertex.getKey()) {
+                    notCollapsed.push(i, Long.bitCount(tileMask));
+                }
+                isCollapsed.add(false);
+            }
+            return;
+        }
+
+        this.tileMask = 0;
+        this.compatible = null;
+        this.mesh = null;
+        this.adjacency = null;
+        this.domains = null;
+
+        for (int i = 0; i < graph.sizeVertices(); i++) {
+            possibilities.add(new IntSet());
+        }
 
         for (Vertex v : this.graph.vertices()) {
             Set<Integer> initialPossibilities = ruleset.initialPossibilities(v);
             if (!v.equals(startVertex)) {
-                notCollapsed.push(v, initialPossibilities.size());
+                notCollapsed.push(v.getKey(), initialPossibilities.size());
             }
             isCollapsed.add(false);
             possibilities.set(v.getKey(), initialPossibilities);
         }
     }
 
+    static long[][] compatibleMasks(BitmaskRuleset masks) {
+        CompiledRuleset compiled = CompiledRuleset.compile(masks);
+        Direction[] directions = masks.isDirectional() ? DIRECTIONS : new Direction[] {Direction.UP};
+        long[][] compatible = new long[directions.length][];
+
+        for (int d = 0; d < directions.length; d++) {
+            compatible[d] = compiled.compatibleMasks(directions[d]);
+        }
+
+        return compatible;
+    }
+
     /**
      * Initializes a new Wave Function Collapse Algorithm with a random seed.
      * 
      * @param graph The graph to be collapsed
      */
     public WaveFunctionCollapse(Graph graph, Ruleset ruleset) {
-        this(graph, ruleset, new Random());
+        this(graph, ruleset, new Random(), null);
     }
 
     /**
@@ -104,7 +194,21 @@ public class WaveFunctionCollapse implements Runnable {
      * @param seed  The seed
      */
     public WaveFunctionCollapse(Graph graph, Ruleset ruleset, long seed) {
-        this(graph, ruleset, new Random(seed));
+        this(graph, ruleset, new Random(seed), null);
+    }
+
+    /**
+     * Initializes a new Wave Function Collapse Algorithm with a set seed and a custom queue
+     * to order the tiles by their entropy. By default an {@link IndexedIntMinHeap} is used.
+     * The entropy of a tile never exceeds the amount of tiles, thus a {@link BucketQueue} with one
+     * more bucket than there are tiles orders them in constant time.
+     * 
+     * @param graph The graph to be collapsed
+     * @param seed  The seed
+     * @param queue An empty queue that is able to hold the keys of all vertices
+     */
+    public WaveFunctionCollapse(Graph graph, Ruleset ruleset, long seed, IntPriorityQueue queue) {
+        this(graph, ruleset, new Random(seed), Objects.requireNonNull(queue));
     }
     //#endregion
 
@@ -114,84 +218,187 @@ public class WaveFunctionCollapse implements Runnable {
     }
 
     private void evaluate() {
-        collapse(startVertex);
+        collapse(startVertex.getKey());
         while (!notCollapsed.isEmpty()) {
-            Vertex v = notCollapsed.popMin();
-            collapse(v);
+            collapse(notCollapsed.popMin());
         }
-        if (renderer != null && Runner.GUI_OUTPUT) {
+        if (renderer != null) {
             renderer.renderFull();
         }
     }
 
-    private void collapse(Vertex vertex) {
-        Set<Integer> possibleInts = possibilities.get(vertex.getKey());
+    private void collapse(int key) {
+        boolean restricted = domains != null ? collapseMask(key) : collapseSet(key);
+        isCollapsed.set(key, true);
+
+        propagationCounts[collapseCounter++] = restricted ? propagate(key) : 0;
+
+        if (renderer != null) {
+            updateGui(graph.parseVertex(key));
+        }
+    }
+
+    /**
+     * Collapses a vertex using its set of possibilities.
+     * @return False if the vertex could not be collapsed and does not restrict its neighbours
+     */
+    private boolean collapseSet(int key) {
+        Vertex vertex = graph.parseVertex(key);
+        Set<Integer> possibleInts = possibilities.get(key);
 
         if (possibleInts.isEmpty()) {
-            possibleInts = Set.of(-1); // This can crash the algorithm, depending on the ruleset
+            vertex.setValue(-1); // This can crash the algorithm, depending on the ruleset
+            possibilities.set(key, ruleset.initialPossibilities(vertex)); // Errors do not restrict their neighbours
             errorCounter++;
+            return false;
         }
 
         // Collapse
-        int value = possibleInts.stream().toList().get(rnd.nextInt(possibleInts.size()));
+        // Sorted, such that the choice does not depend on the iteration order of the set
+        int[] values = possibleInts instanceof IntSet set
+            ? set.toIntArray()
+            : possibleInts.stream().mapToInt(Integer::intValue).toArray();
+        Arrays.sort(values);
+        int value = values[rnd.nextInt(values.length)];
         vertex.setValue(value);
-        int key = vertex.getKey();
-
         possibilities.set(key, Set.of(value));
-        isCollapsed.set(key, true);
+        return true;
+    }
+
+    /**
+     * Collapses a vertex using its mask of possibilities.
+     * @return False if the vertex could not be collapsed and does not restrict its neighbours
+     */
+    private boolean collapseMask(int key) {
+        long domain = domains[key];
+
+        if (domain == 0) {
+            graph.setValue(key, -1);
+            domains[key] = tileMask; // Errors do not restrict their neighbours
+            errorCounter++;
+            return false;
+        }
 
-        // Propagate
-        propagate(vertex, null); // Hope that this doesnt reach too much recusrion depth
-
-        //#region - old code -
-        // boolean[] exploredNodes = new boolean[graph.sizeVertices()];
-        // int[] distances = new int[graph.sizeVertices()];
-
-        // Queue<Vertex> queue = new ConcurrentLinkedQueue<>();
-        // queue.add(start);
-        // exploredNodes[key] = true;
-        // distances[key] = 0;
-
-        // while (!queue.isEmpty()) {
-        //     Vertex u = queue.poll();
-        //     if (distances[u.getKey()] > maxBFSDepth) {
-        //         continue;
-        //     }
-        //     Iterator<Vertex> neighbourIterator = u.neighboursIterator();
-        //     while (neighbourIterator.hasNext()) {
-        //         Vertex v = neighbourIterator.next();
-        //         if (isCollapsed.get(v.getKey()).booleanValue()) {
-        //             exploredNodes[v.getKey()] = true;
-        //             continue;
-        //         }
-        //         if (!exploredNodes[v.getKey()] && update(v)) {
-        //             queue.add(v);
-        //             distances[v.getKey()] = distances[u.getKey()] + 1;
-        //             exploredNodes[v.getKey()] = true;
-        //         }
-        //     }
-        // }
-        //#endregion
-
-        updateGui(vertex);
+        int value = nthTile(domain, rnd.nextInt(Long.bitCount(domain)));
+        graph.setValue(key, value);
+        domains[key] = 1L << value;
+        return true;
     }
 
-    private void propagate(Vertex vertex, Vertex parent) {
-        Iterator<Vertex> neighbourIterator = vertex.neighboursIterator();
+    /**
+     * Propagates the restriction of a vertex through the graph. Every vertex whose domain shrinks
+     * queues its uncollapsed neighbours for re-evaluation, until no domain changes anymore.
+     * A vertex is queued at most once at a time, thus the worklist never exceeds n entries.
+     * </p>
+     * Vertices left without any possibility do not restrict their neighbours, so a contradiction
+     * does not spread over the whole graph.
+     * 
+     * @param key The key of the collapsed vertex
+     * @return The amount of re-evaluated vertices
+     */
+    private int propagate(int key) {
+        int evaluations = 0;
+        enqueueNeighbours(key);
+
+        while (worklistSize > 0) {
+            int v = worklist[worklistHead];
+            worklistHead = (worklistHead + 1) % n;
+            worklistSize--;
+            queued[v >>> 6] &= ~(1L << v);
+
+            if (isCollapsed.get(v).booleanValue()) {
+                continue;
+            }
 
-        while (neighbourIterator.hasNext()) {
-            Vertex v = neighbourIterator.next();
+            evaluations++;
+            boolean changed = domains != null ? updateMask(v) : update(v);
+            if (changed && !isContradiction(v)) {
+                enqueueNeighbours(v);
+            }
+        }
 
-            if (v.equals(parent)) { continue; }
+        return evaluations;
+    }
 
-            if (!isCollapsed.get(v.getKey()).booleanValue() && update(v)) {
-                propagate(vertex, v);
+    private void enqueueNeighbours(int key) {
+        if (mesh != null) {
+            for (Direction direction : DIRECTIONS) {
+                enqueue(mesh.neighbour(key, direction));
             }
+        } else if (adjacency != null) {
+            for (int arc = adjacency.arcsStart(key); arc < adjacency.arcsEnd(key); arc++) {
+                enqueue(adjacency.target(arc));
+            }
+        } else {
+            for (Vertex v : graph.neighbours(key)) {
+                enqueue(v.getKey());
+            }
+        }
+    }
+
+    private void enqueue(int v) {
+        if (v == -1 || isCollapsed.get(v).booleanValue() || (queued[v >>> 6] & (1L << v)) != 0) {
+            return;
         }
+
+        queued[v >>> 6] |= 1L << v;
+        worklist[(worklistHead + worklistSize) % n] = v;
+        worklistSize++;
+    }
+
+    private boolean isContradiction(int v) {
+        return domains != null ? domains[v] == 0 : possibilities.get(v).isEmpty();
+    }
+
+    private boolean updateMask(int v) {
+        long domain = domains[v];
+
+        if (mesh != null) {
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int u = mesh.neighbour(v, DIRECTIONS[d]);
+                if (u != -1 && domains[u] != 0) {
+                    domain &= union(domains[u], compatible[d]);
+                }
+            }
+        } else {
+            for (int arc = adjacency.arcsStart(v); arc < adjacency.arcsEnd(v); arc++) {
+                int u = adjacency.target(arc);
+                if (domains[u] != 0) {
+                    domain &= union(domains[u], compatible[0]);
+                }
+            }
+        }
+
+        if (domain == domains[v]) {
+            return false;
+        }
+
+        domains[v] = domain;
+        notCollapsed.decPrio(v, Long.bitCount(domain));
+        return true;
+    }
+
+    /**
+     * Returns all tiles that are compatible with at least one tile of the domain.
+     */
+    static long union(long domain, long[] compatible) {
+        long mask = 0;
+        for (long m = domain; m != 0; m &= m - 1) {
+            mask |= compatible[Long.numberOfTrailingZeros(m)];
+        }
+        return mask;
+    }
+
+    static int nthTile(long domain, int i) {
+        long m = domain;
+        for (int j = 0; j < i; j++) {
+            m &= m - 1;
+        }
+        return Long.numberOfTrailingZeros(m);
     }
 
     private void updateGui(Vertex vertex) {
-        if (renderer != null && Runner.GUI_OUTPUT && Runner.ANIMATED_OUTPUT) {
+        if (renderer != null && animated) {
             updatedSinceRender[renderCounter++] = vertex;
             if (renderCounter >= UPDATES_PER_RENDER) {
                 renderer.renderDiff();
@@ -200,25 +407,34 @@ public class WaveFunctionCollapse implements Runnable {
         }
     }
 
-    private boolean update(Vertex v) {
-
-        boolean changed = false;
-    
-        Set<Integer> possibleInts = ruleset.ruleset(this.graph, v, possibilities); // Magic happens in here
+    private boolean update(int v) {
+        Set<Integer> current = possibilities.get(v);
+        IntSet possibleInts = new IntSet(ruleset.ruleset(this.graph, graph.parseVertex(v), constraints)); // Magic happens in here
+        possibleInts.retainAll(current);
 
-        if (!possibilities.get(v.getKey()).equals(possibleInts)) {
-            possibilities.set(v.getKey(), possibleInts);
-            notCollapsed.decPrio(v, possibleInts.size());
-            changed = true;
+        if (possibleInts.size() == current.size()) {
+            return false;
         }
 
-        return changed;
+        possibilities.set(v, possibleInts);
+        notCollapsed.decPrio(v, possibleInts.size());
+        return true;
     }
 
     public int getErrorCount() {
         return errorCounter;
     }
 
+    /**
+     * Returns the amount of vertices that were re-evaluated after each collapse, in the
+     * order the vertices were collapsed.
+     * 
+     * @return A new array with one entry per collapsed vertex
+     */
+    public int[] getPropagationCounts() {
+        return Arrays.copyOf(propagationCounts, collapseCounter);
+    }
+
     /**
      * Returns the current estimated progress in respect to the collapsed nodes.
      * 
@@ -247,12 +463,30 @@ public class WaveFunctionCollapse implements Runnable {
     }
 
     /**
-     * Getter for {@link #possibilities}.
+     * Getter for {@link #possibilities}. When using a {@link BitmaskRuleset} the
+     * sets are decoded from their masks on every access.
      * 
      * @return A view of the possiblities list
      */
     public List<Set<Integer>> getPossibilities() {
-        return Collections.unmodifiableList(possibilities);
+        if (domains == null) {
+            return Collections.unmodifiableList(possibilities);
+        }
+
+        return new AbstractList<>() {
+            @Override
+            public Set<Integer> get(int index) {
+                if (isCollapsed.get(index).booleanValue()) {
+                    return Set.of(graph.getValue(index));
+                }
+                return Collections.unmodifiableSet(BitmaskRuleset.tiles(domains[index]));
+            }
+
+            @Override
+            public int size() {
+                return n;
+            }
+        };
     }
 
     /**
@@ -275,4 +509,14 @@ public class WaveFunctionCollapse implements Runnable {
     public void setRenderer(GraphRenderer graphRenderer) {
         this.renderer = graphRenderer;
     }
+
+    /**
+     * Sets whether the renderer is updated while the algorithm is running. Otherwise the
+     * renderer only renders the final result. Animated by default.
+     * 
+     * @param animated Whether the output is animated
+     */
+    public void setAnimated(boolean animated) {
+        this.animated = animated;
+    }
 }
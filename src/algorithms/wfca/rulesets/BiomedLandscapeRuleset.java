@@ -11,9 +11,10 @@ import java.util.Set;
 import src.algorithms.wfca.WaveFunctionCollapse;
 import src.graph.graph.interfaces.Graph;
 import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.Mesh2D.MeshType;
 import src.graph.vertices.Vertex;
 import src.util.Ansi;
-import target.GraphLoader;
+import src.util.collections.IntSet;
 
 /**
  * A ruleset based on {@link LandscapeRuleset} which reduces noise by using biomes.
@@ -21,7 +22,7 @@ import target.GraphLoader;
 public class BiomedLandscapeRuleset implements Ruleset {
     public static final String TILE_SYMBOL = "■";
 
-    private static final Set<Integer> NUMBERS = new HashSet<>(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
+    private static final Set<Integer> NUMBERS = new IntSet(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
     private List<Set<Biome>> vertexBiomes;
 
     public BiomedLandscapeRuleset(ArrayMesh2D targetGraph) {
@@ -33,8 +34,7 @@ public class BiomedLandscapeRuleset implements Ruleset {
             vertexBiomes.add(new HashSet<>());
         }
 
-        GraphLoader loader = new GraphLoader();
-        ArrayMesh2D biomeMapBlank = loader.zylinder(targetGraph.getWidth() / 3, targetGraph.getHeight() / 3);
+        ArrayMesh2D biomeMapBlank = new ArrayMesh2D(targetGraph.getWidth() / 3, targetGraph.getHeight() / 3, MeshType.ZYLINDER);
         WaveFunctionCollapse biomeGenerator = new WaveFunctionCollapse(biomeMapBlank, new LandscapeRuleset());
         biomeGenerator.run();
         ArrayMesh2D biomeMap = (ArrayMesh2D) biomeGenerator.getGraph();
@@ -77,7 +77,7 @@ public class BiomedLandscapeRuleset implements Ruleset {
 
         // Check all neighbours
         for (int i = 0; i < neighbours.size(); i++) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
 
             Set<Integer> neighbourInts = possibilities.get(neighbours.get(i).getKey());
@@ -92,7 +92,7 @@ public class BiomedLandscapeRuleset implements Ruleset {
         Set<Integer> allowedByBiome = allowedByBiome(v);
         allPossibleInts.add(allowedByBiome);
 
-        Set<Integer> possibleInts = new HashSet<>();
+        Set<Integer> possibleInts = new IntSet();
 
         int biomeCorrectionFactor = allowedByBiome.size() == 2 ? 1 : 0;
         if (allPossibleInts.stream().filter(set -> set.size() == 2).count() >= 2 + biomeCorrectionFactor) {
@@ -110,7 +110,7 @@ public class BiomedLandscapeRuleset implements Ruleset {
     }
 
     private Set<Integer> allowedByBiome(Vertex v) {
-        Set<Integer> allowedByBiome = new HashSet<>();
+        Set<Integer> allowedByBiome = new IntSet();
         for (Biome b: vertexBiomes.get(v.getKey())) {
             allowedByBiome.addAll(b.getAllowedTiles());
         }
@@ -136,6 +136,14 @@ public class BiomedLandscapeRuleset implements Ruleset {
         return 8;
     }
 
+    /**
+     * The allowed tiles depend on the biomes painted at the position of a vertex.
+     */
+    @Override
+    public boolean isPositional() {
+        return true;
+    }
+
     @Override
     public Color getTileColor(int tileValue) {
         return switch (tileValue) {
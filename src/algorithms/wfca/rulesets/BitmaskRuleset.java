@@ -0,0 +1,71 @@
+package src.algorithms.wfca.rulesets;
+
+import java.util.Set;
+
+import src.graph.graph.models.undirected.Direction;
+import src.util.collections.IntSet;
+
+/**
+ * A ruleset with at most 64 tiles, whose rules can be expressed as masks of compatible tiles.
+ * Bit {@code i} of a mask represents the tile with the identifier {@code i}, thus identifiers must
+ * range from {@code 0} to {@code 63}.
+ * </p>
+ * The {@link src.algorithms.wfca.WaveFunctionCollapse} stores the possibilities of every vertex as
+ * such a mask when using a bitmask ruleset, and propagates changes with simple AND/OR operations
+ * instead of calling {@link #ruleset}.
+ */
+public interface BitmaskRuleset extends Ruleset {
+
+    /**
+     * Returns the mask of all tiles of this ruleset. This is the initial possibility of every vertex.
+     * @return A mask of tiles
+     */
+    long tileMask();
+
+    /**
+     * Returns the tiles that may be placed on a vertex, whose neighbour in the given direction holds the given tile.
+     * Rulesets that are not directional return the same mask for every direction.
+     * @param tile The identifier of the neighbouring tile
+     * @param direction The direction the neighbour lies in, as seen from the vertex
+     * @return A mask of tiles
+     */
+    long compatibleMask(int tile, Direction direction);
+
+    /**
+     * Returns whether the compatible tiles depend on the direction of the neighbour. Directional
+     * rulesets can only be used on a {@link src.graph.graph.models.undirected.Mesh2D}.
+     * @return True if the ruleset is directional
+     */
+    default boolean isDirectional() {
+        return false;
+    }
+
+    /**
+     * Converts a set of tile identifiers to a mask.
+     * @param tiles Some identifiers between {@code 0} and {@code 63}
+     * @return A mask of tiles
+     */
+    static long mask(Set<Integer> tiles) {
+        long mask = 0;
+        for (int tile : tiles) {
+            if (tile < 0 || tile >= Long.SIZE) {
+                throw new IllegalArgumentException("Tile %d can not be represented in a mask.".formatted(tile));
+            }
+            mask |= 1L << tile;
+        }
+        return mask;
+    }
+
+    /**
+     * Converts a mask to a set of tile identifiers.
+     * @param mask A mask of tiles
+     * @return A new set of identifiers
+     */
+    static Set<Integer> tiles(long mask) {
+        Set<Integer> tiles = new IntSet();
+        for (long m = mask; m != 0; m &= m - 1) {
+            tiles.add(Long.numberOfTrailingZeros(m));
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,213 @@
+package src.algorithms.wfca.rulesets;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.graph.models.undirected.Mesh2D.MeshType;
+import src.graph.vertices.Vertex;
+
+/**
+ * An immutable ruleset that answers every query with table lookups. The compatible tiles of
+ * every tile and direction are computed once by {@link #compile(Ruleset)} and stored as masks,
+ * see {@link BitmaskRuleset}.
+ * </p>
+ * Bitmask rulesets are compiled by asking them for their masks. Any other ruleset is compiled
+ * by evaluating its {@link #ruleset} on a mesh of two vertices, once for every tile and direction.
+ * This only works for rulesets, whose rules do not depend on the position of a vertex and that
+ * combine their neighbours by intersection, which holds for all rulesets of this package except
+ * the {@link BiomedLandscapeRuleset}. Rulesets that are {@link Ruleset#isPositional() positional}
+ * are rejected. The ruleset is directional if the compiled masks differ between
+ * directions.
+ * </p>
+ * Names and colors of the tiles, as well as the BFS depth, are taken from the compiled ruleset.
+ *
+ * @author likenus
+ */
+public final class CompiledRuleset implements BitmaskRuleset {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Ruleset source;
+    private final long tileMask;
+    private final long[][] compatible;
+    private final boolean directional;
+    private final Set<Integer> tiles;
+
+    private CompiledRuleset(Ruleset source, long tileMask, long[][] compatible) {
+        this.source = source;
+        this.tileMask = tileMask;
+        this.compatible = compatible;
+        this.tiles = Collections.unmodifiableSet(BitmaskRuleset.tiles(tileMask));
+
+        boolean directional = false;
+        for (long[] masks : compatible) {
+            directional |= !Arrays.equals(masks, compatible[0]);
+        }
+        this.directional = directional;
+    }
+
+    /**
+     * Compiles a ruleset into lookup tables.
+     * @param ruleset The ruleset to be compiled
+     * @return The compiled ruleset, or the given one if it is already compiled
+     * @throws IllegalArgumentException If a tile identifier is not between {@code 0} and {@code 63},
+     *         or if the rules depend on the position of a vertex
+     */
+    public static CompiledRuleset compile(Ruleset ruleset) {
+        Objects.requireNonNull(ruleset);
+
+        if (ruleset.isPositional()) {
+            throw new IllegalArgumentException("Rules that depend on the position can not be compiled.");
+        }
+
+        if (ruleset instanceof CompiledRuleset compiled) {
+            return compiled;
+        }
+        if (ruleset instanceof BitmaskRuleset masks) {
+            return fromMasks(masks);
+        }
+        return fromRules(ruleset);
+    }
+
+    private static CompiledRuleset fromMasks(BitmaskRuleset masks) {
+        long tileMask = masks.tileMask();
+        long[][] compatible = new long[DIRECTIONS.length][Long.SIZE];
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            for (long m = tileMask; m != 0; m &= m - 1) {
+                int tile = Long.numberOfTrailingZeros(m);
+                compatible[d][tile] = masks.compatibleMask(tile, DIRECTIONS[d]) & tileMask;
+            }
+        }
+
+        return new CompiledRuleset(masks, tileMask, compatible);
+    }
+
+    private static CompiledRuleset fromRules(Ruleset ruleset) {
+        Mesh2D row = new ArrayMesh2D(2, 1, MeshType.SQUARE);
+        Mesh2D column = new ArrayMesh2D(1, 2, MeshType.SQUARE);
+
+        long tileMask = BitmaskRuleset.mask(ruleset.initialPossibilities(row.parseVertex(0)));
+        long[][] compatible = new long[DIRECTIONS.length][Long.SIZE];
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            Direction direction = DIRECTIONS[d];
+            Mesh2D mesh = direction == Direction.LEFT || direction == Direction.RIGHT ? row : column;
+            // The vertex lies first if its neighbour lies to the right or below
+            int key = direction == Direction.RIGHT || direction == Direction.DOWN ? 0 : 1;
+            Vertex v = mesh.parseVertex(key);
+
+            for (long m = tileMask; m != 0; m &= m - 1) {
+                int tile = Long.numberOfTrailingZeros(m);
+                List<Set<Integer>> possibilities = key == 0
+                        ? List.of(BitmaskRuleset.tiles(tileMask), Set.of(tile))
+                        : List.of(Set.of(tile), BitmaskRuleset.tiles(tileMask));
+
+                Set<Integer> allowed = new HashSet<>(ruleset.ruleset(mesh, v, possibilities));
+                allowed.retainAll(BitmaskRuleset.tiles(tileMask));
+                compatible[d][tile] = BitmaskRuleset.mask(allowed);
+            }
+        }
+
+        return new CompiledRuleset(ruleset, tileMask, compatible);
+    }
+
+    /**
+     * Returns the compatible tiles of every tile for one direction, indexed by the tile identifier.
+     * @param direction The direction the neighbour lies in, as seen from the vertex
+     * @return A new array of {@code 64} masks
+     */
+    public long[] compatibleMasks(Direction direction) {
+        return compatible[direction.ordinal()].clone();
+    }
+
+    /**
+     * Getter for the ruleset this ruleset was compiled from.
+     * @return A ruleset
+     */
+    public Ruleset getSource() {
+        return source;
+    }
+
+    @Override
+    public long tileMask() {
+        return tileMask;
+    }
+
+    @Override
+    public long compatibleMask(int tile, Direction direction) {
+        return tile < 0 || tile >= Long.SIZE ? 0 : compatible[direction.ordinal()][tile];
+    }
+
+    @Override
+    public boolean isDirectional() {
+        return directional;
+    }
+
+    @Override
+    public Set<Integer> ruleset(Graph graph, Vertex v, List<Set<Integer>> possibilities) {
+        long domain = tileMask;
+
+        if (directional) {
+            Mesh2D mesh = (Mesh2D) graph;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int neighbour = mesh.neighbour(v.getKey(), DIRECTIONS[d]);
+                if (neighbour != -1) {
+                    domain &= union(possibilities.get(neighbour), compatible[d]);
+                }
+            }
+        } else {
+            for (Vertex neighbour : graph.neighbours(v.getKey())) {
+                domain &= union(possibilities.get(neighbour.getKey()), compatible[0]);
+            }
+        }
+
+        return BitmaskRuleset.tiles(domain);
+    }
+
+    /**
+     * Returns all tiles that are compatible with at least one of the given tiles. A {@code -1}
+     * allows every tile, as in {@link Ruleset#intersect}.
+     */
+    private long union(Set<Integer> neighbourTiles, long[] masks) {
+        long mask = 0;
+        for (int tile : neighbourTiles) {
+            if (tile == -1) {
+                return tileMask;
+            }
+            if (tile >= 0 && tile < Long.SIZE) {
+                mask |= masks[tile];
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public String stringRepresentation(int i) {
+        return source.stringRepresentation(i);
+    }
+
+    @Override
+    public Set<Integer> initialPossibilities(Vertex v) {
+        return tiles;
+    }
+
+    @Override
+    public int maxBFSDepth() {
+        return source.maxBFSDepth();
+    }
+
+    @Override
+    public Color getTileColor(int tileValue) {
+        return source.getTileColor(tileValue);
+    }
+}
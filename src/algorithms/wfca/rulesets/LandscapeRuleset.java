@@ -3,25 +3,28 @@ package src.algorithms.wfca.rulesets;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.undirected.Direction;
 import src.graph.vertices.Vertex;
 import src.util.Ansi;
+import src.util.collections.IntSet;
 
 /**
  * This ruleset attempts to paint a landscape like image. Its rules say that
  * water and land
  * may not be adjacent and must be connected via a beach.
  */
-public class LandscapeRuleset implements Ruleset {
+public class LandscapeRuleset implements BitmaskRuleset {
     public static final String TILE_SYMBOL = "■";
 
-    private static final Set<Integer> NUMBERS = new HashSet<>(
+    private static final Set<Integer> NUMBERS = new IntSet(
             Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
 
+    private static final long TILE_MASK = BitmaskRuleset.mask(NUMBERS);
+
     @Override
     public Set<Integer> ruleset(Graph graph, Vertex v, List<Set<Integer>> possibilities) {
         List<Set<Integer>> allPossibleInts = new ArrayList<>();
@@ -30,7 +33,7 @@ public class LandscapeRuleset implements Ruleset {
 
         // Check all neighbours
         for (int i = 0; i < neighbours.size(); i++) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
 
             Set<Integer> neighbourInts = possibilities.get(neighbours.get(i).getKey());
@@ -42,7 +45,7 @@ public class LandscapeRuleset implements Ruleset {
             }
         }
 
-        Set<Integer> possibleInts = new HashSet<>();
+        Set<Integer> possibleInts = new IntSet();
 
         // if (allPossibleInts.stream().filter(set -> set.size() == 2).count() >= 2) {
         //     if (allPossibleInts.stream().allMatch(set -> set.contains(Tile.DEEP_WATER.getIdentifier()))) {
@@ -72,6 +75,17 @@ public class LandscapeRuleset implements Ruleset {
         return NUMBERS;
     }
 
+    @Override
+    public long tileMask() {
+        return TILE_MASK;
+    }
+
+    @Override
+    public long compatibleMask(int tile, Direction direction) {
+        Tile t = Tile.parseTile(tile);
+        return t == null ? 0 : t.getNeighbourMask();
+    }
+
     @Override
     public int maxBFSDepth() {
         return Integer.MAX_VALUE - 1;
@@ -92,11 +106,13 @@ public class LandscapeRuleset implements Ruleset {
         private int identifier;
         private Ansi ansiConfig;
         private Set<Integer> possibleNeighbours;
+        private long neighbourMask;
 
         private Tile(int identifier, Ansi ansiConfig, Set<Integer> possibleNeighbours) {
             this.identifier = identifier;
             this.ansiConfig = ansiConfig;
             this.possibleNeighbours = possibleNeighbours;
+            this.neighbourMask = BitmaskRuleset.mask(possibleNeighbours);
         }
 
         public int getIdentifier() {
@@ -107,6 +123,10 @@ public class LandscapeRuleset implements Ruleset {
             return possibleNeighbours;
         }
 
+        public long getNeighbourMask() {
+            return neighbourMask;
+        }
+
         public static Tile parseTile(int i) {
             for (Tile tile : values()) {
                 if (tile.getIdentifier() == i) {
@@ -2,19 +2,22 @@ package src.algorithms.wfca.rulesets;
 
 import java.awt.*;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.undirected.Direction;
 import src.graph.vertices.Vertex;
+import src.util.collections.IntSet;
 
 /**
  * In this ruleset integers in adjacent tiles may only have a difference of exaclty 1.
  */
-public class NumbersRuleset implements Ruleset {
+public class NumbersRuleset implements BitmaskRuleset {
 
     private static final Set<Integer> NUMBERS = Set.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+    private static final long TILE_MASK = BitmaskRuleset.mask(NUMBERS);
     
     @Override
     public Set<Integer> ruleset(Graph graph, Vertex v, List<Set<Integer>> possibilities) {
@@ -24,7 +27,7 @@ public class NumbersRuleset implements Ruleset {
 
         // Check all neighbours
         for (int i = 0; i < neighbours.size(); i++) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
             
             for (int n : possibilities.get(neighbours.get(i).getKey())) {
@@ -40,7 +43,7 @@ public class NumbersRuleset implements Ruleset {
             }
         }
     
-        Set<Integer> possibleInts = new HashSet<>();
+        Set<Integer> possibleInts = new IntSet();
         for (int i : NUMBERS) {
             Integer n = i;
             if (allPossibleInts.stream().allMatch(set -> set.contains(n))) {
@@ -61,6 +64,19 @@ public class NumbersRuleset implements Ruleset {
         return NUMBERS;
     }
 
+    @Override
+    public long tileMask() {
+        return TILE_MASK;
+    }
+
+    @Override
+    public long compatibleMask(int tile, Direction direction) {
+        if (!NUMBERS.contains(tile)) {
+            return 0;
+        }
+        return ((1L << (tile + 1)) | (1L << tile >>> 1)) & TILE_MASK;
+    }
+
     @Override
     public int maxBFSDepth() {
         return 8;
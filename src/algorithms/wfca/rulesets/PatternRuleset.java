@@ -3,19 +3,19 @@ package src.algorithms.wfca.rulesets;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import src.graph.graph.interfaces.Graph;
-import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.Mesh2D;
 import src.graph.vertices.Vertex;
 import src.util.Ansi;
+import src.util.collections.IntSet;
 
 /**
  * NOTE: Very high bfs depth recommended
@@ -24,7 +24,7 @@ public class PatternRuleset implements Ruleset {
 
     public static final String TILE_SYMBOL = "■";
 
-    private final Set<Integer> numbers = new HashSet<>();
+    private final Set<Integer> numbers = new IntSet();
     private final Map<Integer, DirectionalTupel<Integer>> pattern = new HashMap<>();
 
     public PatternRuleset(int[][] input) {
@@ -71,20 +71,20 @@ public class PatternRuleset implements Ruleset {
 
     @Override
     public Set<Integer> ruleset(Graph graph, Vertex v, List<Set<Integer>> possibilities) {
-        ArrayMesh2D mesh = (ArrayMesh2D) graph;
+        Mesh2D mesh = (Mesh2D) graph;
 
         List<Set<Integer>> allPossibleInts = new ArrayList<>();
 
-        Map<Direction, Vertex> neighbours = initNeighbours(v, graph.neighbours(v.getKey()), mesh);
+        for (Direction direction : Direction.values()) {
+            int neighbour = mesh.neighbour(v.getKey(), direction);
+            if (neighbour == -1) {
+                continue;
+            }
 
-        for (Entry<Direction, Vertex> entry : neighbours.entrySet()) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
 
-            Vertex neighbour = entry.getValue();
-            Direction direction = entry.getKey();
-
-            Set<Integer> neighbourInts = possibilities.get(neighbour.getKey());
+            Set<Integer> neighbourInts = possibilities.get(neighbour);
 
             for (int i : neighbourInts) {
                 ints.addAll(pattern.get(i).get(direction.opposite()));
@@ -94,27 +94,6 @@ public class PatternRuleset implements Ruleset {
         return Ruleset.intersect(allPossibleInts, numbers);
     }
 
-    private static Map<Direction, Vertex> initNeighbours(Vertex v, List<Vertex> neighbours, ArrayMesh2D mesh) {
-        Map<Direction, Vertex> map = new EnumMap<>(Direction.class);
-
-        for (Vertex neighbour : neighbours) {
-            if (neighbour.getKey() == v.getKey() - 1 || neighbour.getKey() == v.getKey() + mesh.getWidth() - 1) {
-                map.put(Direction.LEFT, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() + 1 || neighbour.getKey() == v.getKey() - mesh.getWidth() + 1) {
-                map.put(Direction.RIGHT, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() - mesh.getWidth()) {
-                map.put(Direction.UP, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() + mesh.getWidth()) {
-                map.put(Direction.DOWN, neighbour);
-            }
-        }
-
-        return map;
-    }
-
     @Override
     public String stringRepresentation(int i) {
         return switch(i) {
@@ -200,25 +179,6 @@ public class PatternRuleset implements Ruleset {
         }
     }
 
-    private enum Direction {
-        UP,
-
-        DOWN,
-
-        LEFT,
-
-        RIGHT;
-
-        public Direction opposite() {
-            return switch (this) {
-                case UP -> DOWN;
-                case DOWN -> UP;
-                case LEFT -> RIGHT;
-                case RIGHT -> LEFT;
-            };
-        }
-    }
-
     @Override
     public Color getTileColor(int tileValue) {
         return switch (tileValue) {
@@ -3,41 +3,41 @@ package src.algorithms.wfca.rulesets;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.EnumMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.Map.Entry;
 
 import src.graph.graph.interfaces.Graph;
-import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.Mesh2D;
 import src.graph.vertices.Vertex;
+import src.util.collections.IntSet;
 
 /**
  * This ruleset uses these ASCII characters {'╩', '╚', '╠' etc...} to form a structure
  * that connects these characters like one would connect them logically. (Duh!)
  */
-public class PipesRuleset implements Ruleset {
+public class PipesRuleset implements BitmaskRuleset {
 
-    private static final Set<Integer> NUMBERS = new HashSet<>(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
+    private static final Set<Integer> NUMBERS = new IntSet(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
+
+    private static final long TILE_MASK = BitmaskRuleset.mask(NUMBERS);
 
     @Override
     public Set<Integer> ruleset(Graph graph, Vertex v, List<Set<Integer>> possibilities) {
-        ArrayMesh2D mesh = (ArrayMesh2D) graph;
+        Mesh2D mesh = (Mesh2D) graph;
 
         List<Set<Integer>> allPossibleInts = new ArrayList<>();
 
-        Map<Direction, Vertex> neighbours = initNeighbours(v, graph.neighbours(v.getKey()), mesh);
+        for (Direction direction : Direction.values()) {
+            int neighbour = mesh.neighbour(v.getKey(), direction);
+            if (neighbour == -1) {
+                continue;
+            }
 
-        for (Entry<Direction, Vertex> entry : neighbours.entrySet()) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
 
-            Vertex neighbour = entry.getValue();
-            Direction direction = entry.getKey();
-
-            Set<Integer> neighbourInts = possibilities.get(neighbour.getKey());
+            Set<Integer> neighbourInts = possibilities.get(neighbour);
 
             List<Tile> tiles = initTiles(neighbourInts);
 
@@ -57,27 +57,6 @@ public class PipesRuleset implements Ruleset {
         return Ruleset.intersect(allPossibleInts, NUMBERS);
     }
 
-    private static Map<Direction, Vertex> initNeighbours(Vertex v, List<Vertex> neighbours, ArrayMesh2D mesh) {
-        Map<Direction, Vertex> map = new EnumMap<>(Direction.class);
-
-        for (Vertex neighbour : neighbours) {
-            if (neighbour.getKey() == v.getKey() - 1 || neighbour.getKey() == v.getKey() + mesh.getWidth() - 1) {
-                map.put(Direction.LEFT, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() + 1 || neighbour.getKey() == v.getKey() - mesh.getWidth() + 1) {
-                map.put(Direction.RIGHT, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() - mesh.getWidth()) {
-                map.put(Direction.UP, neighbour);
-            }
-            if (neighbour.getKey() == v.getKey() + mesh.getWidth()) {
-                map.put(Direction.DOWN, neighbour);
-            }
-        }
-
-        return map;
-    }
-
     private static List<Tile> initTiles(Set<Integer> neighbourInts) {
         List<Tile> tiles = new ArrayList<>();
         for (int i : neighbourInts) {
@@ -98,6 +77,33 @@ public class PipesRuleset implements Ruleset {
         return NUMBERS;
     }
 
+    @Override
+    public long tileMask() {
+        return TILE_MASK;
+    }
+
+    @Override
+    public long compatibleMask(int tile, Direction direction) {
+        Tile neighbour = Tile.parseTile(tile);
+        if (neighbour == null) {
+            return 0;
+        }
+
+        int footprint = neighbour.getFootprint(direction.opposite());
+        long mask = 0;
+        for (Tile t : Tile.values()) {
+            if (footprint == t.getFootprint(direction)) {
+                mask |= 1L << t.getIdentifier();
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean isDirectional() {
+        return true;
+    }
+
     @Override
     public int maxBFSDepth() {
         return Integer.MAX_VALUE - 1;
@@ -232,25 +238,6 @@ public class PipesRuleset implements Ruleset {
         }
     }
 
-    private enum Direction {
-        UP,
-
-        DOWN,
-
-        LEFT,
-
-        RIGHT;
-
-        public Direction opposite() {
-            return switch (this) {
-                case UP -> DOWN;
-                case DOWN -> UP;
-                case LEFT -> RIGHT;
-                case RIGHT -> LEFT;
-            };
-        }
-    }
-
     @Override
     public Color getTileColor(int tileValue) {
         return new Color(0, 0, 0, 255);
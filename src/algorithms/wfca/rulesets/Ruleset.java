@@ -1,12 +1,12 @@
 package src.algorithms.wfca.rulesets;
 
 import java.awt.*;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import src.graph.graph.interfaces.Graph;
 import src.graph.vertices.Vertex;
+import src.util.collections.IntSet;
 
 /**
  * Rulesets use numbers and a set of rules to give the numbers meaning. 
@@ -39,11 +39,17 @@ public interface Ruleset {
     Set<Integer> initialPossibilities(Vertex v);
 
     /* Package Private */ static Set<Integer> intersect(List<Set<Integer>> sets, Set<Integer> numbers) {
-        Set<Integer> possibleInts = new HashSet<>();
+        IntSet possibleInts = new IntSet();
 
-        for (int i : numbers) {
-            Integer num = i;
-            if (sets.stream().allMatch(set -> set.contains(num) || set.contains(-1))) {
+        for (int num : numbers) {
+            boolean allowed = true;
+            for (Set<Integer> set : sets) {
+                if (!set.contains(num) && !set.contains(-1)) {
+                    allowed = false;
+                    break;
+                }
+            }
+            if (allowed) {
                 possibleInts.add(num);
             }
         }
@@ -57,6 +63,15 @@ public interface Ruleset {
      */
     int maxBFSDepth();
 
+    /**
+     * Returns whether the rules depend on the position of a vertex, not only on its neighbours.
+     * Such rulesets can not be compiled into a {@link CompiledRuleset}.
+     * @return True if the rules depend on the position
+     */
+    default boolean isPositional() {
+        return false;
+    }
+
     /**
      * Gets the color associated with a tile type value for image rendering
      * @param tileValue a tile type value
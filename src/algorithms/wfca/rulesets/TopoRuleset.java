@@ -3,19 +3,22 @@ package src.algorithms.wfca.rulesets;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.undirected.Direction;
 import src.graph.vertices.Vertex;
 import src.util.Ansi;
+import src.util.collections.IntSet;
 
-public class TopoRuleset implements Ruleset {
+public class TopoRuleset implements BitmaskRuleset {
 
     private static final String TILE_SYMBOL = "■";
 
-    private static final Set<Integer> NUMBERS = new HashSet<>(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
+    private static final Set<Integer> NUMBERS = new IntSet(Arrays.asList(Tile.values()).stream().map(Tile::getIdentifier).toList());
+
+    private static final long TILE_MASK = BitmaskRuleset.mask(NUMBERS);
 
     private enum Tile {
 
@@ -38,11 +41,13 @@ public class TopoRuleset implements Ruleset {
         private int identifier;
         private Ansi ansiConfig;
         private Set<Integer> possibleNeighbours;
+        private long neighbourMask;
         
         private Tile(int identifier, Ansi ansiConfig, Set<Integer> possibleNeighbours) {
             this.identifier = identifier;
             this.ansiConfig = ansiConfig;
             this.possibleNeighbours = possibleNeighbours;
+            this.neighbourMask = BitmaskRuleset.mask(possibleNeighbours);
         }
     
         public int getIdentifier() {
@@ -53,6 +58,10 @@ public class TopoRuleset implements Ruleset {
             return possibleNeighbours;
         }
 
+        public long getNeighbourMask() {
+            return neighbourMask;
+        }
+
         public static Tile parseTile(int i) {
             for (Tile tile : values()) {
                 if (tile.getIdentifier() == i) {
@@ -77,7 +86,7 @@ public class TopoRuleset implements Ruleset {
 
         // Check all neighbours
         for (int i = 0; i < neighbours.size(); i++) {
-            Set<Integer> ints = new HashSet<>();
+            Set<Integer> ints = new IntSet();
             allPossibleInts.add(ints);
 
             Set<Integer> neighbourInts = possibilities.get(neighbours.get(i).getKey());
@@ -106,6 +115,17 @@ public class TopoRuleset implements Ruleset {
         return NUMBERS;
     }
 
+    @Override
+    public long tileMask() {
+        return TILE_MASK;
+    }
+
+    @Override
+    public long compatibleMask(int tile, Direction direction) {
+        Tile t = Tile.parseTile(tile);
+        return t == null ? 0 : t.getNeighbourMask();
+    }
+
     @Override
     public int maxBFSDepth() {
         return 8;
@@ -5,6 +5,8 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+import src.graph.graph.models.undirected.Direction;
+
 public class DirectionalTupel<T> {
 
     private final Set<T> up = new HashSet<>();
@@ -0,0 +1,54 @@
+package src.graph.graph.abstracts;
+
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+import src.graph.edge.Edge;
+
+/**
+ * The adjacency structure behind an {@link ArrayGraph}, holding at most one edge per pair of vertices.
+ * Vertices are labeled {@code 0} to {@code n - 1} and added one after another.
+ * </p>
+ * In undirected graphs an edge is stored for both of its directions, thus {@code get(a, b)} and
+ * {@code get(b, a)} return the same edge.
+ * @see ArrayGraph.Layout
+ */
+interface Adjacency {
+
+    /**
+     * Makes room for the vertex {@code n}, where {@code n} is the amount of vertices added so far.
+     */
+    void addVertex();
+
+    /**
+     * Returns the edge between two vertices, or {@code null} if there is none.
+     */
+    Edge get(int a, int b);
+
+    /**
+     * Stores the edge between two vertices, there must not be an edge between them yet.
+     */
+    void put(int a, int b, Edge e);
+
+    /**
+     * Removes the edge between two vertices, if there is one.
+     */
+    void remove(int a, int b);
+
+    /**
+     * Performs the action for the key of every vertex that the vertex {@code a} has an edge to.
+     */
+    void forEachNeighbour(int a, IntConsumer action);
+
+    /**
+     * Counts the vertices that both vertices have an edge to.
+     */
+    default int commonNeighbours(int a, int b) {
+        BitSet marked = new BitSet();
+        forEachNeighbour(a, marked::set);
+
+        int[] count = {0};
+        forEachNeighbour(b, i -> count[0] += marked.get(i) ? 1 : 0);
+        return count[0];
+    }
+}
@@ -1,79 +1,216 @@
 package src.graph.graph.abstracts;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 import src.graph.edge.Edge;
+import src.graph.graph.interfaces.DirectedGraph;
 import src.graph.graph.interfaces.Graph;
 import src.graph.vertices.Vertex;
 import src.graph.vertices.models.Node;
+import src.graph.vertices.models.VertexView;
 
+/**
+ * A graph whose vertices are labeled {@code 0} to {@code n - 1} and whose edges are kept in an array
+ * based adjacency structure, chosen by its {@link Layout}. Every pair of vertices has at most one edge.
+ */
 public abstract class ArrayGraph implements Graph {
 
-    protected Map<Integer, Vertex> vertices = new HashMap<>();
-    protected Edge[][] adjacencyMatrix;
+    /**
+     * The adjacency structure of an {@link ArrayGraph}.
+     */
+    public enum Layout {
+
+        /**
+         * Growable arrays of neighbours per vertex and a hash index of the edges. This takes
+         * {@code O(n + m)} memory, finding the neighbours of a vertex takes {@code O(degree)}.
+         */
+        SPARSE,
+
+        /**
+         * A full matrix of edges. This takes {@code O(n^2)} memory, finding the neighbours of a
+         * vertex takes {@code O(n)}. Only worth it for graphs where most pairs of vertices are adjacent.
+         */
+        DENSE,
+
+        /**
+         * A matrix of single bits, {@code n^2 / 8} bytes instead of a reference per pair of vertices.
+         * No edge objects are kept, edges are created on demand with the weight {@code 1}, thus only
+         * unweighted edges can be added. Neighbours are found in {@code O(n / 64)}, and bulk operations
+         * such as {@link ArrayGraph#commonNeighbours(int, int)} work on whole words.
+         */
+        BITS;
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    protected final VertexStore vertices;
+    private final Adjacency adjacency;
+    private final Layout layout;
     protected int n;
     protected int m;
-    protected int capacity = 16;
 
     protected ArrayGraph() {
-        adjacencyMatrix = new Edge[capacity][capacity];
-        n = 0;
+        this(0, Layout.SPARSE);
     }
 
     protected ArrayGraph(int i) {
+        this(i, Layout.SPARSE);
+    }
+
+    protected ArrayGraph(int i, Layout layout) {
         if (i < 0) {
             throw new IllegalArgumentException();
         }
-        capacity = (int) Math.pow(2, Math.ceil(log2(i)));
-        adjacencyMatrix = new Edge[capacity][capacity];
+
+        int capacity = Math.max(i, DEFAULT_CAPACITY);
+        boolean directed = this instanceof DirectedGraph;
+        this.layout = Objects.requireNonNull(layout);
+        this.vertices = new VertexStore(capacity);
+        this.adjacency = switch (layout) {
+            case SPARSE -> new ListAdjacency(directed, capacity);
+            case DENSE -> new MatrixAdjacency(directed, capacity);
+            case BITS -> new BitAdjacency(directed, capacity, this);
+        };
+
         for (int j = 0; j < i; j++) {
             addVertex();
         }
     }
 
-    private static double log2(int x) {
-        return Math.log(x) / Math.log(2);
+    public Layout layout() {
+        return layout;
     }
 
     @Override
     public List<Vertex> neighbours(int key) {
         List<Vertex> neighbours = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            if (adjacencyMatrix[key][i] != null) {
-                neighbours.add(vertices.get(i));
-            }
-        }
+        adjacency.forEachNeighbour(key, i -> neighbours.add(vertices.get(i)));
         return neighbours;
     }
 
     @Override
     public List<Vertex> vertices() {
-        return vertices.values().stream().toList();
+        return vertices.view();
     }
 
     @Override
     public boolean addVertex() {
-        if (n == capacity) {
-            increaseCapacity();
-        }
-        vertices.put(n, new Node(n));
+        adjacency.addVertex();
+        vertices.add(layout == Layout.BITS ? new BitVertex(this, n) : new Node(n));
         n++;
         return true;
     }
 
-    private void increaseCapacity() {
-        capacity *= 2;
+    /**
+     * Adds an edge to the adjacency structure and connects it to its vertices, unless the layout
+     * does not keep edge objects.
+     * @param e The edge to be added
+     * @return True if there was no edge between its vertices yet
+     * @throws IllegalArgumentException If the layout can not store the weight of the edge
+     */
+    protected boolean addEdge(Edge e) {
+        int a = e.start().getKey();
+        int b = e.end().getKey();
+        if (adjacency.get(a, b) != null) {
+            return false;
+        }
+        if (layout == Layout.BITS && e.getWeight() != 1) {
+            throw new IllegalArgumentException("A bit matrix can only store edges of weight 1.");
+        }
+
+        adjacency.put(a, b, e);
+        if (layout != Layout.BITS) {
+            e.start().connectEdge(e);
+            e.end().connectEdge(e);
+        }
+        m++;
+        return true;
+    }
+
+    /**
+     * Removes the edge between two vertices from the adjacency structure and separates it from
+     * its vertices.
+     * @param a The key of the starting vertex
+     * @param b The key of the ending vertex
+     * @return The removed edge, or {@code null} if there was none
+     */
+    protected Edge detachEdge(int a, int b) {
+        if (a < 0 || a >= n || b < 0 || b >= n) {
+            return null;
+        }
+
+        Edge e = adjacency.get(a, b);
+        if (e == null) {
+            return null;
+        }
 
-        Edge[][] newMatrix = new Edge[capacity][];
+        adjacency.remove(a, b);
+        if (layout != Layout.BITS) {
+            e.start().separateEdge(e);
+            e.end().separateEdge(e);
+        }
+        m--;
+        return e;
+    }
+
+    /**
+     * Counts the vertices that both vertices are adjacent to. With {@link Layout#BITS} the rows of both
+     * vertices are intersected a word at a time.
+     * @param a The key of the first vertex
+     * @param b The key of the second vertex
+     * @return The amount of common neighbours
+     */
+    public int commonNeighbours(int a, int b) {
+        return adjacency.commonNeighbours(a, b);
+    }
+
+    /**
+     * Returns a word of the adjacency row of a vertex, bit {@code i} of word {@code w} is set if there is
+     * an edge to the vertex {@code 64 * w + i}. The words of a row cover the keys {@code 0} to {@code n - 1}.
+     * @param key The key of the vertex
+     * @param w The index of the word, less than {@link #adjacencyWords()}
+     * @return The word
+     * @throws UnsupportedOperationException If the layout is not {@link Layout#BITS}
+     */
+    public long adjacencyWord(int key, int w) {
+        return bits().word(key, w);
+    }
+
+    /**
+     * Returns the amount of words in every adjacency row, see {@link #adjacencyWord(int, int)}.
+     * @return {@code ceil(n / 64)}
+     * @throws UnsupportedOperationException If the layout is not {@link Layout#BITS}
+     */
+    public int adjacencyWords() {
+        return bits().words();
+    }
+
+    private BitAdjacency bits() {
+        if (adjacency instanceof BitAdjacency bits) {
+            return bits;
+        }
+        throw new UnsupportedOperationException("Only a bit matrix exposes its words.");
+    }
+
+    /**
+     * Returns all edges, each edge once. Edges of undirected graphs are found from their vertex
+     * with the smaller key.
+     */
+    @Override
+    public List<Edge> edges() {
+        boolean directed = this instanceof DirectedGraph;
+        List<Edge> edges = new ArrayList<>(m);
         for (int i = 0; i < n; i++) {
-            newMatrix[i] = Arrays.copyOf(adjacencyMatrix[i], capacity);
+            int a = i;
+            adjacency.forEachNeighbour(a, b -> {
+                if (directed || b >= a) {
+                    edges.add(adjacency.get(a, b));
+                }
+            });
         }
-        
-        adjacencyMatrix = newMatrix;
+        return edges;
     }
 
     @Override
@@ -98,12 +235,12 @@ public abstract class ArrayGraph implements Graph {
 
     @Override
     public int weightOf(int a, int b) {
-        return adjacencyMatrix[a][b].getWeight();
+        return adjacency.get(a, b).getWeight();
     }
 
     @Override
     public Edge parseEdge(int a, int b) {
-        return adjacencyMatrix[a][b];
+        return adjacency.get(a, b);
     }
 
     @Override
@@ -115,5 +252,27 @@ public abstract class ArrayGraph implements Graph {
     public int sizeEdges() {
         return m;
     }
-    
+
+    /**
+     * A vertex of a bit matrix. It is not connected to any edges, its neighbours are read from the
+     * matrix, only its value is kept by the vertex itself.
+     */
+    private static final class BitVertex extends VertexView {
+
+        private int value;
+
+        BitVertex(ArrayGraph graph, int key) {
+            super(graph, key);
+        }
+
+        @Override
+        public int getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(int i) {
+            this.value = i;
+        }
+    }
 }
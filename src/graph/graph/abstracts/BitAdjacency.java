@@ -0,0 +1,108 @@
+package src.graph.graph.abstracts;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import src.graph.edge.Edge;
+import src.graph.edge.models.DirectedEdge;
+import src.graph.edge.models.UndirectedEdge;
+
+/**
+ * A matrix of single bits, see {@link ArrayGraph.Layout#BITS}. Bit {@code b % 64} of word {@code b / 64}
+ * in the row of the vertex {@code a} is set if there is an edge from {@code a} to {@code b}.
+ * </p>
+ * No edge objects are stored, {@link #get(int, int)} creates an edge with the weight {@code 1} on every
+ * call. Neighbours are found by skipping to the lowest set bit of each word, and the neighbours that two
+ * vertices have in common are counted by intersecting their rows a word at a time.
+ */
+final class BitAdjacency implements Adjacency {
+
+    private final boolean directed;
+    private final ArrayGraph graph;
+    private long[][] rows;
+    private int n;
+
+    BitAdjacency(boolean directed, int capacity, ArrayGraph graph) {
+        this.directed = directed;
+        this.graph = graph;
+        this.rows = new long[capacity][words(capacity)];
+    }
+
+    @Override
+    public void addVertex() {
+        if (n == rows.length) {
+            int capacity = Math.max(64, 2 * n);
+            long[][] newRows = new long[capacity][];
+            for (int i = 0; i < capacity; i++) {
+                newRows[i] = i < n ? Arrays.copyOf(rows[i], words(capacity)) : new long[words(capacity)];
+            }
+            rows = newRows;
+        }
+        n++;
+    }
+
+    @Override
+    public Edge get(int a, int b) {
+        if ((rows[a][b >>> 6] & 1L << b) == 0) {
+            return null;
+        }
+        return directed
+            ? new DirectedEdge(graph.parseVertex(a), graph.parseVertex(b), 1)
+            : new UndirectedEdge(graph.parseVertex(a), graph.parseVertex(b), 1);
+    }
+
+    @Override
+    public void put(int a, int b, Edge e) {
+        rows[a][b >>> 6] |= 1L << b;
+        if (!directed) {
+            rows[b][a >>> 6] |= 1L << a;
+        }
+    }
+
+    @Override
+    public void remove(int a, int b) {
+        rows[a][b >>> 6] &= ~(1L << b);
+        if (!directed) {
+            rows[b][a >>> 6] &= ~(1L << a);
+        }
+    }
+
+    @Override
+    public void forEachNeighbour(int a, IntConsumer action) {
+        long[] row = rows[a];
+        for (int w = 0, words = words(n); w < words; w++) {
+            for (long bits = row[w]; bits != 0; bits &= bits - 1) {
+                action.accept(w << 6 | Long.numberOfTrailingZeros(bits));
+            }
+        }
+    }
+
+    @Override
+    public int commonNeighbours(int a, int b) {
+        long[] rowA = rows[a];
+        long[] rowB = rows[b];
+        int count = 0;
+        for (int w = 0, words = words(n); w < words; w++) {
+            count += Long.bitCount(rowA[w] & rowB[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a word of the row of a vertex.
+     */
+    long word(int a, int w) {
+        return rows[a][w];
+    }
+
+    /**
+     * Returns the amount of words covering the vertices added so far.
+     */
+    int words() {
+        return words(n);
+    }
+
+    private static int words(int bits) {
+        return (bits + Long.SIZE - 1) >>> 6;
+    }
+}
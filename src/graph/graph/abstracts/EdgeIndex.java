@@ -0,0 +1,90 @@
+package src.graph.graph.abstracts;
+
+import java.util.Arrays;
+
+import src.graph.edge.Edge;
+import src.util.collections.LongIntMap;
+
+/**
+ * Maps pairs of vertex keys to the edge between them, see {@link LinkedGraph#parseEdge(int, int)}.
+ * </p>
+ * A pair is packed into the {@code long} {@code a << 32 | b}, undirected edges are stored under the
+ * pair with the smaller key first, thus both orders find the same edge. A {@link LongIntMap} maps the
+ * packed pairs to the slots of the edges in an array, lookups neither allocate nor compare vertices.
+ * Removing an edge moves the last edge of the array into its slot.
+ * </p>
+ * Only one edge is stored per pair. Parallel edges are not indexed until the indexed one is removed.
+ */
+final class EdgeIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final boolean directed;
+    private final LongIntMap slots = new LongIntMap();
+    private Edge[] edges = new Edge[INITIAL_CAPACITY];
+    private int size;
+
+    EdgeIndex(boolean directed) {
+        this.directed = directed;
+    }
+
+    /**
+     * Returns the edge between the two vertices, or {@code null} if there is none.
+     */
+    Edge get(int a, int b) {
+        int i = slots.getOrDefault(key(a, b), -1);
+        return i == -1 ? null : edges[i];
+    }
+
+    /**
+     * Indexes the edge, unless another edge between its vertices is already indexed.
+     * @return True if the edge was indexed
+     */
+    boolean put(Edge e) {
+        long key = key(e);
+        if (slots.containsKey(key)) {
+            return false;
+        }
+
+        if (size == edges.length) {
+            edges = Arrays.copyOf(edges, size << 1);
+        }
+        slots.put(key, size);
+        edges[size++] = e;
+        return true;
+    }
+
+    /**
+     * Removes the edge from the index, if it is the indexed edge between its vertices.
+     * @return True if the edge was removed
+     */
+    boolean remove(Edge e) {
+        long key = key(e);
+        int i = slots.getOrDefault(key, -1);
+        if (i == -1 || edges[i] != e) {
+            return false;
+        }
+
+        Edge last = edges[--size];
+        edges[size] = null;
+        if (i < size) {
+            edges[i] = last;
+            slots.put(key(last), i);
+        }
+        slots.remove(key);
+        return true;
+    }
+
+    private long key(Edge e) {
+        return key(e.start().getKey(), e.end().getKey());
+    }
+
+    private long key(int a, int b) {
+        if (!directed && b < a) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        return (long) a << 32 | (b & 0xFFFFFFFFL);
+    }
+}
@@ -2,25 +2,25 @@ package src.graph.graph.abstracts;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import src.graph.edge.Edge;
+import src.graph.graph.interfaces.DirectedGraph;
 import src.graph.graph.interfaces.Graph;
 import src.graph.vertices.Vertex;
 import src.graph.vertices.models.Node;
 
 public abstract class LinkedGraph implements Graph {
 
-    protected final Map<Integer, Vertex> vertices = new HashMap<>();
+    protected final VertexStore vertices;
     protected final Set<Edge> edges = new HashSet<>();
+    private final EdgeIndex index = new EdgeIndex(this instanceof DirectedGraph);
     protected int id;
 
     protected LinkedGraph() {
-
+        this.vertices = new VertexStore();
     }
 
     protected LinkedGraph(int i) {
@@ -29,10 +29,10 @@ public abstract class LinkedGraph implements Graph {
         }
 
         this.id  = i;
+        this.vertices = new VertexStore(i);
 
         for (int j = 0; j < i; j++) {
-            Vertex node = new Node(j);
-            this.vertices.put(j, node);
+            this.vertices.add(new Node(j));
         }
     }
 
@@ -42,11 +42,7 @@ public abstract class LinkedGraph implements Graph {
 
     protected boolean add(Vertex v) {
         // Node is always unique
-        if (vertices.get(v.getKey()) == null) {
-            vertices.put(v.getKey(), v);
-            return true;
-        }
-        return false;
+        return vertices.add(v);
     }
 
     protected void remove(int key) {
@@ -75,8 +71,32 @@ public abstract class LinkedGraph implements Graph {
         removeEdge(edge);
     }
 
+    /**
+     * Adds an edge to the edges of the graph and indexes it for {@link #parseEdge(int, int)}.
+     * The edge must already be connected to its vertices.
+     * @param e The edge to be added
+     * @return True if the edge was not yet part of the graph
+     */
+    protected boolean addEdge(Edge e) {
+        if (!this.edges.add(e)) {
+            return false;
+        }
+        index.put(e);
+        return true;
+    }
+
     protected void removeEdge(Edge e) {
         this.edges.remove(e);
+
+        // A parallel edge between the same vertices takes the place of the removed one
+        if (index.remove(e)) {
+            for (Edge other : e.start().edges()) {
+                if (other != e && isBetween(other, e.start(), e.end()) && this.edges.contains(other)) {
+                    index.put(other);
+                    break;
+                }
+            }
+        }
     }
 
     @Override
@@ -86,7 +106,7 @@ public abstract class LinkedGraph implements Graph {
 
     @Override
     public List<Vertex> vertices() {
-        return Collections.unmodifiableList(this.vertices.values().stream().toList());
+        return this.vertices.view();
     }
 
     @Override
@@ -126,20 +146,20 @@ public abstract class LinkedGraph implements Graph {
         return Collections.unmodifiableList(new ArrayList<>(this.edges));
     }
 
+    /**
+     * Returns the edge between two vertices in constant time, using an index of all edges.
+     * In directed graphs only the edge from a to b is found.
+     */
     @Override
     public Edge parseEdge(int a, int b) {
-        Vertex v = parseVertex(a);
-        Vertex w = parseVertex(b);
-
-        List<Edge> incidentEdges = new ArrayList<>(v.edges());
-        incidentEdges.addAll(w.edges());
+        return index.get(a, b);
+    }
 
-        for (Edge edge : incidentEdges) {
-            if (edge.getVertices().contains(v) && edge.getVertices().contains(w)) {
-                return edge;
-            }
+    private boolean isBetween(Edge e, Vertex a, Vertex b) {
+        if (this instanceof DirectedGraph) {
+            return e.start().equals(a) && e.end().equals(b);
         }
-        return null;
+        return e.getVertices().contains(a) && e.getVertices().contains(b);
     }
 
     @Override
@@ -0,0 +1,98 @@
+package src.graph.graph.abstracts;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import src.graph.edge.Edge;
+
+/**
+ * Growable arrays of neighbour keys per vertex, see {@link ArrayGraph.Layout#SPARSE}. The edges
+ * themselves are found through an {@link EdgeIndex}, thus the structure takes {@code O(n + m)}
+ * memory while lookups still run in constant time.
+ * </p>
+ * Removing an edge moves the last neighbour of each endpoint into its place, thus the order of the
+ * neighbours is not preserved.
+ */
+final class ListAdjacency implements Adjacency {
+
+    private static final int[] EMPTY = {};
+
+    private final boolean directed;
+    private final EdgeIndex index;
+    private int[][] neighbours;
+    private int[] degrees;
+    private int n;
+
+    ListAdjacency(boolean directed, int capacity) {
+        this.directed = directed;
+        this.index = new EdgeIndex(directed);
+        this.neighbours = new int[capacity][];
+        this.degrees = new int[capacity];
+    }
+
+    @Override
+    public void addVertex() {
+        if (n == neighbours.length) {
+            int capacity = Math.max(16, 2 * n);
+            neighbours = Arrays.copyOf(neighbours, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+        }
+        neighbours[n++] = EMPTY;
+    }
+
+    @Override
+    public Edge get(int a, int b) {
+        return index.get(a, b);
+    }
+
+    @Override
+    public void put(int a, int b, Edge e) {
+        index.put(e);
+        append(a, b);
+        if (!directed && a != b) {
+            append(b, a);
+        }
+    }
+
+    @Override
+    public void remove(int a, int b) {
+        Edge e = index.get(a, b);
+        if (e == null) {
+            return;
+        }
+
+        index.remove(e);
+        delete(a, b);
+        if (!directed && a != b) {
+            delete(b, a);
+        }
+    }
+
+    @Override
+    public void forEachNeighbour(int a, IntConsumer action) {
+        int[] keys = neighbours[a];
+        for (int i = 0, degree = degrees[a]; i < degree; i++) {
+            action.accept(keys[i]);
+        }
+    }
+
+    private void append(int a, int b) {
+        int degree = degrees[a];
+        if (degree == neighbours[a].length) {
+            neighbours[a] = Arrays.copyOf(neighbours[a], Math.max(4, 2 * degree));
+        }
+        neighbours[a][degree] = b;
+        degrees[a]++;
+    }
+
+    private void delete(int a, int b) {
+        int[] keys = neighbours[a];
+        int last = --degrees[a];
+        for (int i = 0; i < last; i++) {
+            if (keys[i] == b) {
+                keys[i] = keys[last];
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package src.graph.graph.abstracts;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import src.graph.edge.Edge;
+
+/**
+ * A full {@code n * n} matrix of edges, see {@link ArrayGraph.Layout#DENSE}. The matrix doubles its
+ * capacity when it is full, neighbours are found by scanning a whole row.
+ */
+final class MatrixAdjacency implements Adjacency {
+
+    private final boolean directed;
+    private Edge[][] matrix;
+    private int n;
+
+    MatrixAdjacency(boolean directed, int capacity) {
+        this.directed = directed;
+        this.matrix = new Edge[capacity][capacity];
+    }
+
+    @Override
+    public void addVertex() {
+        if (n == matrix.length) {
+            int capacity = Math.max(16, 2 * n);
+            Edge[][] newMatrix = new Edge[capacity][];
+            for (int i = 0; i < capacity; i++) {
+                newMatrix[i] = i < n ? Arrays.copyOf(matrix[i], capacity) : new Edge[capacity];
+            }
+            matrix = newMatrix;
+        }
+        n++;
+    }
+
+    @Override
+    public Edge get(int a, int b) {
+        return matrix[a][b];
+    }
+
+    @Override
+    public void put(int a, int b, Edge e) {
+        matrix[a][b] = e;
+        if (!directed) {
+            matrix[b][a] = e;
+        }
+    }
+
+    @Override
+    public void remove(int a, int b) {
+        put(a, b, null);
+    }
+
+    @Override
+    public void forEachNeighbour(int a, IntConsumer action) {
+        Edge[] row = matrix[a];
+        for (int i = 0; i < n; i++) {
+            if (row[i] != null) {
+                action.accept(i);
+            }
+        }
+    }
+}
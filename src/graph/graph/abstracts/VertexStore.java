@@ -0,0 +1,120 @@
+package src.graph.graph.abstracts;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import src.graph.vertices.Vertex;
+import src.util.collections.IntIntMap;
+
+/**
+ * Stores the vertices of a graph in a single array, in the order they were added.
+ * </p>
+ * Graphs label their vertices {@code 0} to {@code n - 1}, thus the vertex with key {@code k} is usually
+ * found at position {@code k} and looked up without hashing. Only vertices added out of order, as
+ * done by the {@link src.graph.graph.models.directed.LazyDirectedGraph}, are indexed in a
+ * primitive map from their key to their position.
+ * </p>
+ * {@link #view()} returns an unmodifiable list backed by the array, it is not copied and reflects
+ * vertices added later on. Vertices can not be removed.
+ */
+public final class VertexStore {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Vertex[] elements;
+    private int size;
+    private IntIntMap sparse;
+    private final List<Vertex> view = new View();
+
+    /**
+     * Creates a new empty store.
+     */
+    public VertexStore() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty store that holds the given amount of vertices without growing.
+     * @param capacity The initial capacity
+     */
+    public VertexStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.elements = new Vertex[capacity];
+    }
+
+    /**
+     * Returns the vertex with the given key.
+     * @param key The key of the vertex
+     * @return The vertex, or {@code null} if there is none
+     */
+    public Vertex get(int key) {
+        if (key >= 0 && key < size && elements[key].getKey() == key) {
+            return elements[key];
+        }
+        if (sparse == null) {
+            return null;
+        }
+
+        int position = sparse.getOrDefault(key, -1);
+        return position == -1 ? null : elements[position];
+    }
+
+    /**
+     * Adds a vertex, unless a vertex with the same key is already stored.
+     * @param v The vertex to be added
+     * @return True if the vertex was added
+     */
+    public boolean add(Vertex v) {
+        int key = v.getKey();
+        if (get(key) != null) {
+            return false;
+        }
+
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(MIN_CAPACITY, 2 * size));
+        }
+        if (key != size) {
+            if (sparse == null) {
+                sparse = new IntIntMap();
+            }
+            sparse.put(key, size);
+        }
+        elements[size++] = v;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an unmodifiable list of all vertices, in the order they were added.
+     * The list is backed by this store.
+     * @return A list view of the vertices
+     */
+    public List<Vertex> view() {
+        return view;
+    }
+
+    private final class View extends AbstractList<Vertex> implements RandomAccess {
+
+        @Override
+        public Vertex get(int index) {
+            return elements[Objects.checkIndex(index, size)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
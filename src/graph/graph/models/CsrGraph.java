@@ -0,0 +1,417 @@
+package src.graph.graph.models;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import src.graph.edge.Edge;
+import src.graph.edge.models.DirectedEdge;
+import src.graph.edge.models.UndirectedEdge;
+import src.graph.graph.interfaces.DirectedGraph;
+import src.graph.graph.interfaces.Graph;
+import src.graph.vertices.Vertex;
+import src.graph.vertices.models.VertexView;
+
+/**
+ * An immutable graph stored in compressed sparse row format. The outgoing arcs of vertex {@code v}
+ * are stored contiguously at the indices {@code arcsStart(v)} to {@code arcsEnd(v) - 1} of two
+ * primitive arrays holding the target keys and the weights. Undirected edges are stored as two arcs,
+ * one in each direction.
+ * </p>
+ * The primitive accessors allow traversals without allocating a single object per edge:
+ * <pre>
+ * for (int arc = g.arcsStart(u); arc &lt; g.arcsEnd(u); arc++) {
+ *     int v = g.target(arc);
+ *     int w = g.weight(arc);
+ * }
+ * </pre>
+ * The structure and the weights of the graph are frozen, only the values of the vertices can be changed.
+ * Vertices and edges returned by the {@link Graph} methods are created on demand, thus changes made
+ * to the weight of a returned edge are not reflected in the graph.
+ *
+ * @author likenus
+ */
+public class CsrGraph implements Graph {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] values;
+    private final boolean directed;
+    private final int m;
+    private final int minWeight;
+    private final int maxWeight;
+
+    private CsrGraph(int[] offsets, int[] targets, int[] weights, int[] values, boolean directed, int m) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.values = values;
+        this.directed = directed;
+        this.m = m;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int w : weights) {
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+        this.minWeight = weights.length == 0 ? 0 : min;
+        this.maxWeight = weights.length == 0 ? 0 : max;
+    }
+
+    /**
+     * Creates a frozen copy of the given graph. The vertices of the graph must be labeled {@code 0} to
+     * {@code n - 1}. Directed graphs will result in a directed copy, all other graphs are considered undirected.
+     * </p>
+     * This runs in linear time.
+     * @param g The graph to be copied
+     * @return A new graph holding the structure, weights and values of the original graph
+     */
+    public static CsrGraph of(Graph g) {
+        Objects.requireNonNull(g);
+
+        if (g instanceof CsrGraph csr) {
+            return new CsrGraph(csr.offsets, csr.targets, csr.weights, csr.values.clone(), csr.directed, csr.m);
+        }
+
+        int n = g.sizeVertices();
+        boolean directed = g instanceof DirectedGraph;
+
+        Vertex[] vertices = new Vertex[n];
+        int[] offsets = new int[n + 1];
+        int[] values = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            Vertex v = g.parseVertex(i);
+            if (v == null) {
+                throw new IllegalArgumentException("Vertex keys must range from 0 to n - 1.");
+            }
+            vertices[i] = v;
+            values[i] = v.getValue();
+            offsets[i + 1] = offsets[i] + collectArcs(v, directed, null, null, 0);
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            collectArcs(vertices[i], directed, targets, weights, offsets[i]);
+        }
+
+        return new CsrGraph(offsets, targets, weights, values, directed, countEdges(offsets, targets, directed));
+    }
+
+    /**
+     * Creates a new graph from a list of edges. Edges are stored in the order they are given,
+     * parallel edges and loops are permitted.
+     * @param n The amount of vertices, labeled {@code 0} to {@code n - 1}
+     * @param a The keys of the starting vertices
+     * @param b The keys of the ending vertices
+     * @param w The weights of the edges
+     * @param count The amount of edges to be read from the arrays
+     * @param directed Whether the edges are directed
+     * @return A new graph
+     */
+    public static CsrGraph fromEdges(int n, int[] a, int[] b, int[] w, int count, boolean directed) {
+        if (n < 0 || count < 0 || count > a.length || count > b.length || count > w.length) {
+            throw new IllegalArgumentException();
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < count; i++) {
+            if (a[i] < 0 || a[i] >= n || b[i] < 0 || b[i] >= n) {
+                throw new IllegalArgumentException("Edge %d->%d is out of bounds.".formatted(a[i], b[i]));
+            }
+            offsets[a[i] + 1]++;
+            if (!directed && a[i] != b[i]) {
+                offsets[b[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] next = Arrays.copyOf(offsets, n);
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int i = 0; i < count; i++) {
+            int arc = next[a[i]]++;
+            targets[arc] = b[i];
+            weights[arc] = w[i];
+            if (!directed && a[i] != b[i]) {
+                arc = next[b[i]]++;
+                targets[arc] = a[i];
+                weights[arc] = w[i];
+            }
+        }
+
+        return new CsrGraph(offsets, targets, weights, new int[n], directed, count);
+    }
+
+    /**
+     * Creates a copy of this graph with all arcs reversed, such that the arcs of a vertex are its
+     * incoming arcs. Undirected graphs are their own reverse and are returned as they are.
+     * </p>
+     * This runs in linear time.
+     * @return The reversed graph
+     */
+    public CsrGraph reversed() {
+        if (!directed) {
+            return this;
+        }
+
+        int[] sources = new int[targets.length];
+        for (int v = 0; v < values.length; v++) {
+            Arrays.fill(sources, offsets[v], offsets[v + 1], v);
+        }
+
+        CsrGraph reversed = fromEdges(values.length, targets, sources, weights, targets.length, true);
+        System.arraycopy(values, 0, reversed.values, 0, values.length);
+        return reversed;
+    }
+
+    private static int collectArcs(Vertex v, boolean directed, int[] targets, int[] weights, int offset) {
+        int arc = offset;
+        Edge previous = null;
+
+        for (Edge e : v.edges()) {
+            // Undirected loops are connected twice to the same vertex
+            if (e == previous || (directed && e.start().getKey() != v.getKey())) {
+                continue;
+            }
+            previous = e;
+
+            if (targets != null) {
+                targets[arc] = directed ? e.end().getKey() : e.getOther(v).getKey();
+                weights[arc] = e.getWeight();
+            }
+            arc++;
+        }
+
+        return arc - offset;
+    }
+
+    private static int countEdges(int[] offsets, int[] targets, boolean directed) {
+        if (directed) {
+            return targets.length;
+        }
+
+        int loops = 0;
+        for (int v = 0; v < offsets.length - 1; v++) {
+            for (int arc = offsets[v]; arc < offsets[v + 1]; arc++) {
+                if (targets[arc] == v) {
+                    loops++;
+                }
+            }
+        }
+        return (targets.length + loops) / 2;
+    }
+
+    /**
+     * Returns the index of the first outgoing arc of the vertex.
+     * @param key The key of the vertex
+     * @return An arc index
+     */
+    public int arcsStart(int key) {
+        return offsets[key];
+    }
+
+    /**
+     * Returns the index after the last outgoing arc of the vertex.
+     * @param key The key of the vertex
+     * @return An arc index, exclusive
+     */
+    public int arcsEnd(int key) {
+        return offsets[key + 1];
+    }
+
+    /**
+     * Returns the key of the vertex the arc is pointing towards.
+     * @param arc The index of the arc
+     * @return The key of the target vertex
+     */
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    /**
+     * Returns the weight of the arc.
+     * @param arc The index of the arc
+     * @return The weight
+     */
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    /**
+     * Returns the amount of outgoing arcs of the vertex.
+     * @param key The key of the vertex
+     * @return The out-degree
+     */
+    public int degree(int key) {
+        return offsets[key + 1] - offsets[key];
+    }
+
+    /**
+     * Returns the total amount of stored arcs. On undirected graphs every edge that is not a loop
+     * is stored twice.
+     * @return The amount of arcs
+     */
+    public int sizeArcs() {
+        return targets.length;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Returns the smallest weight of all arcs.
+     * @return The smallest weight, or {@code 0} if the graph has no arcs
+     */
+    public int minWeight() {
+        return minWeight;
+    }
+
+    /**
+     * Returns the largest weight of all arcs.
+     * @return The largest weight, or {@code 0} if the graph has no arcs
+     */
+    public int maxWeight() {
+        return maxWeight;
+    }
+
+    private boolean contains(int key) {
+        return key >= 0 && key < values.length;
+    }
+
+    private int findArc(int a, int b) {
+        if (!contains(a) || !contains(b)) {
+            return -1;
+        }
+        for (int arc = offsets[a]; arc < offsets[a + 1]; arc++) {
+            if (targets[arc] == b) {
+                return arc;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public List<Vertex> neighbours(int key) {
+        if (!contains(key)) {
+            return new ArrayList<>();
+        }
+
+        List<Vertex> neighbours = new ArrayList<>(degree(key));
+        for (int arc = offsets[key]; arc < offsets[key + 1]; arc++) {
+            neighbours.add(new VertexView(this, targets[arc]));
+        }
+        return neighbours;
+    }
+
+    @Override
+    public List<Vertex> vertices() {
+        return new AbstractList<>() {
+            @Override
+            public Vertex get(int index) {
+                Objects.checkIndex(index, values.length);
+                return new VertexView(CsrGraph.this, index);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean addVertex() {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean addEdge(int a, int b) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public Vertex parseVertex(int key) {
+        return contains(key) ? new VertexView(this, key) : null;
+    }
+
+    @Override
+    public void removeEdge(int a, int b) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public boolean addEdge(int a, int b, int value) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    @Override
+    public int getValue(int key) {
+        return values[key];
+    }
+
+    @Override
+    public void setValue(int key, int value) {
+        values[key] = value;
+    }
+
+    @Override
+    public int weightOf(int a, int b) {
+        int arc = findArc(a, b);
+
+        if (arc == -1) {
+            throw new IllegalArgumentException();
+        }
+
+        return weights[arc];
+    }
+
+    @Override
+    public List<Edge> edges() {
+        List<Edge> edges = new ArrayList<>(m);
+        for (int u = 0; u < values.length; u++) {
+            for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+                if (directed || u <= targets[arc]) {
+                    edges.add(createEdge(u, arc));
+                }
+            }
+        }
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public Edge parseEdge(int a, int b) {
+        int arc = findArc(a, b);
+        return arc == -1 ? null : createEdge(a, arc);
+    }
+
+    private Edge createEdge(int a, int arc) {
+        Vertex v = new VertexView(this, a);
+        Vertex w = new VertexView(this, targets[arc]);
+        return directed ? new DirectedEdge(v, w, weights[arc]) : new UndirectedEdge(v, w, weights[arc]);
+    }
+
+    @Override
+    public int sizeVertices() {
+        return values.length;
+    }
+
+    @Override
+    public int sizeEdges() {
+        return m;
+    }
+}
@@ -0,0 +1,124 @@
+package src.graph.graph.models.directed;
+
+import java.util.Arrays;
+
+import src.graph.graph.interfaces.UnionFind;
+
+/**
+ * A union-find stored in a single int array. Every element holds the index of its parent, roots
+ * hold the negated size of their component instead. Components are merged by size and paths are
+ * halved during every find, which keeps the trees flat without recursion.
+ * </p>
+ * Unlike {@link ComponentSet}, no object is allocated per element.
+ */
+public class ArrayUnionFind implements UnionFind {
+
+    private int[] parents;
+    private int size;
+    private int components;
+
+    /**
+     * Creates a new empty union-find.
+     */
+    public ArrayUnionFind() {
+        this(0);
+    }
+
+    /**
+     * Creates a new union-find containing i components labeled 0 to i - 1.
+     */
+    public ArrayUnionFind(int i) {
+        this.parents = new int[Math.max(i, 16)];
+        this.size = i;
+        this.components = i;
+        Arrays.fill(parents, -1);
+    }
+
+    @Override
+    public boolean add() {
+        if (size == parents.length) {
+            parents = Arrays.copyOf(parents, 2 * size);
+            Arrays.fill(parents, size, parents.length, -1);
+        }
+
+        size++;
+        components++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of disjoint components.
+     * @return The amount of components
+     */
+    public int components() {
+        return components;
+    }
+
+    @Override
+    public int find(int key) {
+        int v = key;
+        while (parents[v] >= 0) {
+            int p = parents[v];
+            if (parents[p] >= 0) {
+                parents[v] = parents[p];
+            }
+            v = parents[v];
+        }
+        return v;
+    }
+
+    @Override
+    public void union(int a, int b) {
+        unite(a, b);
+    }
+
+    /**
+     * Merges the components containing the two keys, see {@link #union(int, int)}.
+     * @param a The key of the first component
+     * @param b The key of the second component
+     * @return True if the keys were in different components
+     */
+    public boolean unite(int a, int b) {
+        int r = find(a);
+        int s = find(b);
+
+        if (r == s) {
+            return false;
+        }
+
+        if (parents[r] > parents[s]) {
+            int swap = r;
+            r = s;
+            s = swap;
+        }
+
+        parents[r] += parents[s];
+        parents[s] = r;
+        components--;
+        return true;
+    }
+
+    /**
+     * Checks whether the two keys are in the same component.
+     * @param a The key of the first component
+     * @param b The key of the second component
+     * @return True if both keys have the same representant
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Returns the size of the component containing the key.
+     * @param key Key of the node
+     * @return The amount of nodes in its component
+     */
+    public int componentSize(int key) {
+        return -parents[find(key)];
+    }
+}
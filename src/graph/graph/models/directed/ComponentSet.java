@@ -7,6 +7,11 @@ import java.util.Objects;
 import src.graph.graph.interfaces.UnionFind;
 import src.graph.vertices.models.Node;
 
+/**
+ * A union-find built from linked nodes.
+ * @see ArrayUnionFind
+ * @see ConcurrentUnionFind
+ */
 public class ComponentSet implements UnionFind {
 
     private final List<UnionFindNode> nodes;
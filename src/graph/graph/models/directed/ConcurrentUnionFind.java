@@ -0,0 +1,119 @@
+package src.graph.graph.models.directed;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import src.graph.graph.interfaces.UnionFind;
+
+/**
+ * A lock-free union-find of fixed size, that may be used by many threads at once.
+ * </p>
+ * Every element holds the index of its parent in an {@link AtomicIntegerArray}, roots point to
+ * themselves. A union links the root with the larger index below the root with the smaller index
+ * by a single compare-and-set, and retries if either root changed in the meantime. Linking by
+ * index instead of size avoids a second word per root that would have to change atomically with
+ * the parent. Finds halve the path with compare-and-set as well; a failed attempt only means that
+ * another thread shortened the path first.
+ * </p>
+ * Once all concurrent unions have finished, the representants are the smallest keys of their
+ * components, independent of the order the unions ran in.
+ */
+public class ConcurrentUnionFind implements UnionFind {
+
+    private final AtomicIntegerArray parents;
+
+    /**
+     * Creates a new union-find containing i components labeled 0 to i - 1.
+     */
+    public ConcurrentUnionFind(int i) {
+        this.parents = new AtomicIntegerArray(i);
+        for (int j = 0; j < i; j++) {
+            parents.set(j, j);
+        }
+    }
+
+    /**
+     * Not supported, the size is fixed on creation.
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public boolean add() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int size() {
+        return parents.length();
+    }
+
+    @Override
+    public int find(int key) {
+        int v = key;
+        while (true) {
+            int p = parents.get(v);
+            if (p == v) {
+                return v;
+            }
+
+            int grandparent = parents.get(p);
+            if (grandparent != p) {
+                parents.compareAndSet(v, p, grandparent);
+            }
+            v = grandparent;
+        }
+    }
+
+    @Override
+    public void union(int a, int b) {
+        unite(a, b);
+    }
+
+    /**
+     * Merges the components containing the two keys, see {@link #union(int, int)}.
+     * @param a The key of the first component
+     * @param b The key of the second component
+     * @return True if this call merged two different components
+     */
+    public boolean unite(int a, int b) {
+        while (true) {
+            int r = find(a);
+            int s = find(b);
+
+            if (r == s) {
+                return false;
+            }
+
+            if (r > s) {
+                int swap = r;
+                r = s;
+                s = swap;
+            }
+
+            if (parents.compareAndSet(s, s, r)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the two keys are in the same component. If unions run concurrently,
+     * the answer might already be outdated when it is returned.
+     * @param a The key of the first component
+     * @param b The key of the second component
+     * @return True if both keys have the same representant
+     */
+    public boolean connected(int a, int b) {
+        while (true) {
+            int r = find(a);
+            int s = find(b);
+
+            if (r == s) {
+                return true;
+            }
+
+            // r was not linked meanwhile, thus both were roots at the same time
+            if (parents.get(r) == r) {
+                return false;
+            }
+        }
+    }
+}
@@ -38,7 +38,7 @@ public class DirectedWeightedLinkedGraph extends LinkedGraph implements Directed
 
         v.connectEdge(edge);
 
-        return this.edges.add(edge);
+        return addEdge(edge);
     }
 
     protected boolean addEdge(Vertex v, Vertex w) {
@@ -108,7 +108,7 @@ public class DirectedWeightedTree extends DirectedWeightedLinkedGraph implements
         v.connectEdge(edge);
         setParent(w, v);
 
-        return this.edges.add(edge);
+        return addEdge(edge);
     }
 
     protected List<Vertex> pathToRoot(Vertex vertex) {
@@ -153,7 +153,7 @@ public class DirectedWeightedTree extends DirectedWeightedLinkedGraph implements
 
     @Override
     protected void removeEdge(Edge e) {
-        this.edges.remove(e);
+        super.removeEdge(e);
         for (Vertex v : e.getVertices()) {
             v.separateEdge(e);
         }
@@ -43,4 +43,20 @@ public class LazyDirectedGraph extends DirectedLinkedGraph {
 
         return true;
     }
+
+    @Override
+    public Edge parseEdge(int a, int b) {
+        Vertex v = parseVertex(a);
+
+        if (v == null) {
+            return null;
+        }
+
+        for (Edge edge : v.edges()) {
+            if (edge.end().getKey() == b) {
+                return edge;
+            }
+        }
+        return null;
+    }
 }
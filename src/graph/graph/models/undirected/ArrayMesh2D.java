@@ -2,24 +2,26 @@ package src.graph.graph.models.undirected;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import src.graph.edge.Edge;
 import src.graph.edge.models.UndirectedEdge;
 import src.graph.vertices.Vertex;
 import src.graph.vertices.models.Node;
-import src.util.Pair;
+import src.util.collections.LongIntMap;
 
 public class ArrayMesh2D implements Mesh2D {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
     
     private final int width;
     private final int height;
     private final Vertex[][] bitmap;
-    private Map<Pair<Integer, Integer>, Edge> edges = new HashMap<>();
+    // Edges are indexed by their packed vertex keys, smaller key first
+    private final List<Edge> edges = new ArrayList<>();
+    private final LongIntMap edgeIndex = new LongIntMap();
 
-    private MeshType meshType;
+    private MeshType meshType = MeshType.SQUARE;
 
     public ArrayMesh2D(int width, int height) {
         this.width = width;
@@ -44,6 +46,30 @@ public class ArrayMesh2D implements Mesh2D {
         }
     }
 
+    /**
+     * Creates a new mesh of the given type. Zylinders connect the first and the last column
+     * of every row, donuts additionally connect the first and the last row of every column.
+     * @param width The width of the mesh
+     * @param height The height of the mesh
+     * @param meshType The type of the mesh
+     */
+    public ArrayMesh2D(int width, int height, MeshType meshType) {
+        this(width, height);
+        this.meshType = meshType;
+
+        if (meshType == MeshType.ZYLINDER || meshType == MeshType.DONUT) {
+            for (int i = 0; i < height; i++) {
+                this.addEdge(i * width, i * width + width - 1);
+            }
+        }
+
+        if (meshType == MeshType.DONUT) {
+            for (int i = 0; i < width; i++) {
+                this.addEdge(i, height * width - width + i);
+            }
+        }
+    }
+
     public int getWidth() {
         return width;
     }
@@ -60,15 +86,19 @@ public class ArrayMesh2D implements Mesh2D {
         this.meshType = meshType;
     }
 
+    /**
+     * Returns the neighbours in the order up, down, left, right, including the wrap-around
+     * neighbours of zylinders and donuts.
+     */
     @Override
     public List<Vertex> neighbours(int key) {
-        List<Vertex> neighbours = new ArrayList<>();
-        int x = key / width;
-        int y = key % width;
-        if (x > 0) neighbours.add(bitmap[x - 1][y]);
-        if (x < width - 1) neighbours.add(bitmap[x + 1][y]);
-        if (y > 0) neighbours.add(bitmap[x][y - 1]);
-        if (y < height - 1) neighbours.add(bitmap[x][y + 1]);
+        List<Vertex> neighbours = new ArrayList<>(4);
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = neighbour(key, direction);
+            if (neighbour != -1 && neighbour != key && !neighbours.contains(parseVertex(neighbour))) {
+                neighbours.add(parseVertex(neighbour));
+            }
+        }
 
         return neighbours;
     }
@@ -104,7 +134,19 @@ public class ArrayMesh2D implements Mesh2D {
 
     @Override
     public void removeEdge(int a, int b) {
-        edges.remove(new Pair<>(a, b));
+        long key = edgeKey(a, b);
+        int i = edgeIndex.getOrDefault(key, -1);
+        if (i == -1) {
+            return;
+        }
+
+        // The last edge takes the place of the removed one
+        Edge last = edges.remove(edges.size() - 1);
+        if (i < edges.size()) {
+            edges.set(i, last);
+            edgeIndex.put(edgeKey(last.start().getKey(), last.end().getKey()), i);
+        }
+        edgeIndex.remove(key);
     }
 
     @Override
@@ -112,13 +154,23 @@ public class ArrayMesh2D implements Mesh2D {
         Vertex v = parseVertex(a);
         Vertex w = parseVertex(b);
         Edge edge = new UndirectedEdge(v, w, value);
-        edges.put(new Pair<>(a, b), edge);
         v.connectEdge(edge);
         w.connectEdge(edge);
-        edges.put(new Pair<>(a, b), edge);
+
+        int i = edgeIndex.getOrDefault(edgeKey(a, b), -1);
+        if (i == -1) {
+            edgeIndex.put(edgeKey(a, b), edges.size());
+            edges.add(edge);
+        } else {
+            edges.set(i, edge);
+        }
         return true;
     }
 
+    private static long edgeKey(int a, int b) {
+        return (long) Math.min(a, b) << 32 | Math.max(a, b);
+    }
+
     @Override
     public int getValue(int key) {
         return bitmap[key / width][key % width].getValue();
@@ -136,16 +188,13 @@ public class ArrayMesh2D implements Mesh2D {
 
     @Override
     public List<Edge> edges() {
-        return edges.values().stream().toList();
+        return List.copyOf(edges);
     }
 
     @Override
     public Edge parseEdge(int a, int b) {
-        Edge e = edges.get(new Pair<>(a, b));
-        if (e == null) {
-            return edges.get(new Pair<>(b, a));
-        }
-        return e;
+        int i = edgeIndex.getOrDefault(edgeKey(a, b), -1);
+        return i == -1 ? null : edges.get(i);
     }
 
     @Override
@@ -1,4 +1,4 @@
-package src.algorithms.wfca.rulesets.util;
+package src.graph.graph.models.undirected;
 
 public enum Direction {
         UP,
@@ -0,0 +1,328 @@
+package src.graph.graph.models.undirected;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import src.graph.edge.Edge;
+import src.graph.edge.models.UndirectedEdge;
+import src.graph.vertices.Vertex;
+import src.graph.vertices.models.VertexView;
+
+/**
+ * A mesh that does not store any vertex or edge objects. The values of the vertices are
+ * held in a flat {@code int[]}, and every vertex owns two slots of a flat weight array: one for
+ * the edge to its right neighbour and one for the edge to the neighbour below. The slots of the
+ * last column and the last row hold the wrap-around edges of zylinders and donuts.
+ * </p>
+ * Neighbours and edges are computed on demand. Vertices are returned as {@link VertexView}s and
+ * edges are created on every call, thus changing the weight of a returned edge does not change
+ * the mesh.
+ * </p>
+ * Only edges between neighbouring vertices of the grid can be added, including the wrap-around edges.
+ * A 1000x1000 mesh takes about 12 MB.
+ *
+ * @author likenus
+ */
+public class ImplicitMesh2D implements Mesh2D {
+
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    private final int width;
+    private final int height;
+    private final int[] values;
+    private final int[] weights;
+    private int m;
+
+    private MeshType meshType;
+
+    /**
+     * Creates a new square mesh, all edges weigh 1.
+     * @param width The width of the mesh
+     * @param height The height of the mesh
+     */
+    public ImplicitMesh2D(int width, int height) {
+        this(width, height, MeshType.SQUARE);
+    }
+
+    /**
+     * Creates a new mesh of the given type, all edges weigh 1. Zylinders connect the first and
+     * the last column of every row, donuts additionally connect the first and the last row of every column.
+     * @param width The width of the mesh
+     * @param height The height of the mesh
+     * @param meshType The type of the mesh
+     */
+    public ImplicitMesh2D(int width, int height, MeshType meshType) {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException();
+        }
+        Objects.requireNonNull(meshType);
+
+        this.width = width;
+        this.height = height;
+        this.meshType = meshType;
+        this.values = new int[width * height];
+        this.weights = new int[2 * width * height];
+        Arrays.fill(weights, ABSENT);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width - 1; x++) {
+                addEdge(y * width + x, y * width + x + 1);
+            }
+        }
+
+        for (int y = 0; y < height - 1; y++) {
+            for (int x = 0; x < width; x++) {
+                addEdge(y * width + x, y * width + x + width);
+            }
+        }
+
+        if (meshType == MeshType.ZYLINDER || meshType == MeshType.DONUT) {
+            for (int y = 0; y < height; y++) {
+                addEdge(y * width, y * width + width - 1);
+            }
+        }
+
+        if (meshType == MeshType.DONUT) {
+            for (int x = 0; x < width; x++) {
+                addEdge(x, height * width - width + x);
+            }
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public MeshType getMeshType() {
+        return meshType;
+    }
+
+    public void setMeshType(MeshType meshType) {
+        this.meshType = meshType;
+    }
+
+    private boolean contains(int key) {
+        return key >= 0 && key < values.length;
+    }
+
+    /**
+     * Returns the index of the weight slot of the edge between two vertices.
+     * @return The index or -1 if the vertices are not neighbours on the grid
+     */
+    private int slot(int a, int b) {
+        if (!contains(a) || !contains(b) || a == b) {
+            return -1;
+        }
+
+        int ax = a % width;
+        int ay = a / width;
+        int bx = b % width;
+        int by = b / width;
+
+        if (ay == by) {
+            if (bx == ax + 1) return 2 * a;
+            if (ax == bx + 1) return 2 * b;
+            if (ax == width - 1 && bx == 0) return 2 * a;
+            if (bx == width - 1 && ax == 0) return 2 * b;
+        }
+        if (ax == bx) {
+            if (by == ay + 1) return 2 * a + 1;
+            if (ay == by + 1) return 2 * b + 1;
+            if (ay == height - 1 && by == 0) return 2 * a + 1;
+            if (by == height - 1 && ay == 0) return 2 * b + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the key of the vertex on the other end of a slot.
+     */
+    private int other(int key, int slot) {
+        int owner = slot / 2;
+        if (owner != key) {
+            return owner;
+        }
+
+        int x = owner % width;
+        int y = owner / width;
+        if (slot % 2 == 0) {
+            return x < width - 1 ? owner + 1 : owner - width + 1;
+        }
+        return y < height - 1 ? owner + width : x;
+    }
+
+    /**
+     * Collects the present slots of the vertex in the order up, down, left, right.
+     */
+    private int slots(int key, int[] slots) {
+        int x = key % width;
+        int y = key / width;
+        int count = 0;
+
+        int up = y > 0 ? 2 * (key - width) + 1 : 2 * ((height - 1) * width + x) + 1;
+        int down = 2 * key + 1;
+        int left = x > 0 ? 2 * (key - 1) : 2 * (key + width - 1);
+        int right = 2 * key;
+
+        for (int slot : new int[] {up, down, left, right}) {
+            if (weights[slot] != ABSENT && !contains(slots, count, slot)) {
+                slots[count++] = slot;
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean contains(int[] slots, int count, int slot) {
+        for (int i = 0; i < count; i++) {
+            if (slots[i] == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<Vertex> neighbours(int key) {
+        if (!contains(key)) {
+            return new ArrayList<>();
+        }
+
+        int[] slots = new int[4];
+        int count = slots(key, slots);
+
+        List<Vertex> neighbours = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbours.add(new VertexView(this, other(key, slots[i])));
+        }
+        return neighbours;
+    }
+
+    @Override
+    public List<Vertex> vertices() {
+        return new AbstractList<>() {
+            @Override
+            public Vertex get(int index) {
+                Objects.checkIndex(index, values.length);
+                return new VertexView(ImplicitMesh2D.this, index);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean addVertex() {
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean addEdge(int a, int b) {
+        return addEdge(a, b, 1);
+    }
+
+    @Override
+    public Vertex parseVertex(int key) {
+        return contains(key) ? new VertexView(this, key) : null;
+    }
+
+    @Override
+    public void removeEdge(int a, int b) {
+        int slot = slot(a, b);
+        if (slot != -1 && weights[slot] != ABSENT) {
+            weights[slot] = ABSENT;
+            m--;
+        }
+    }
+
+    /**
+     * Adds an edge between two neighbouring vertices of the grid, or changes its weight if
+     * it already exists.
+     * @return False if the vertices are not neighbours on the grid
+     */
+    @Override
+    public boolean addEdge(int a, int b, int value) {
+        int slot = slot(a, b);
+        if (slot == -1) {
+            return false;
+        }
+
+        if (weights[slot] == ABSENT) {
+            m++;
+        }
+        weights[slot] = value;
+        return true;
+    }
+
+    @Override
+    public int getValue(int key) {
+        return values[key];
+    }
+
+    @Override
+    public void setValue(int key, int value) {
+        values[key] = value;
+    }
+
+    @Override
+    public int weightOf(int a, int b) {
+        int slot = slot(a, b);
+
+        if (slot == -1 || weights[slot] == ABSENT) {
+            throw new IllegalArgumentException();
+        }
+
+        return weights[slot];
+    }
+
+    @Override
+    public List<Edge> edges() {
+        List<Edge> edges = new ArrayList<>(m);
+        for (int slot = 0; slot < weights.length; slot++) {
+            if (weights[slot] != ABSENT) {
+                edges.add(createEdge(slot / 2, slot));
+            }
+        }
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public Edge parseEdge(int a, int b) {
+        int slot = slot(a, b);
+        if (slot == -1 || weights[slot] == ABSENT) {
+            return null;
+        }
+        return createEdge(a, slot);
+    }
+
+    private Edge createEdge(int a, int slot) {
+        return new UndirectedEdge(new VertexView(this, a), new VertexView(this, other(a, slot)), weights[slot]);
+    }
+
+    @Override
+    public int sizeVertices() {
+        return values.length;
+    }
+
+    @Override
+    public int sizeEdges() {
+        return m;
+    }
+}
@@ -12,6 +12,33 @@ public interface Mesh2D extends UndirectedGraph {
 
     void setMeshType(MeshType meshType);
 
+    /**
+     * Returns the neighbour of a vertex in the given direction. Vertex {@code key} lies in
+     * column {@code key % width} and row {@code key / width}. Zylinders wrap around horizontally,
+     * donuts horizontally and vertically, a mesh without a type is treated as a square.
+     * </p>
+     * This runs in constant time and does not allocate anything.
+     * @param key The key of the vertex, must be part of the mesh
+     * @param direction The direction of the neighbour
+     * @return The key of the neighbour or -1 if there is none
+     */
+    default int neighbour(int key, Direction direction) {
+        int width = getWidth();
+        int height = getHeight();
+        int x = key % width;
+        int y = key / width;
+        MeshType meshType = getMeshType();
+        boolean wrapX = meshType == MeshType.ZYLINDER || meshType == MeshType.DONUT;
+        boolean wrapY = meshType == MeshType.DONUT;
+
+        return switch (direction) {
+            case UP -> y > 0 ? key - width : wrapY ? key + (height - 1) * width : -1;
+            case DOWN -> y < height - 1 ? key + width : wrapY ? x : -1;
+            case LEFT -> x > 0 ? key - 1 : wrapX ? key + width - 1 : -1;
+            case RIGHT -> x < width - 1 ? key + 1 : wrapX ? key - width + 1 : -1;
+        };
+    }
+
     public enum MeshType {
 
         SQUARE,
@@ -10,6 +10,10 @@ public class UndirectedArrayGraph extends UndirectedWeightedArrayGraph {
         super(i);
     }
 
+    public UndirectedArrayGraph(int i, Layout layout) {
+        super(i, layout);
+    }
+
     @Override
     public boolean addEdge(int a, int b, int value) {
         return super.addEdge(a, b, 1);
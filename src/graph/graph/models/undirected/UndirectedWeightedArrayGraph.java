@@ -1,9 +1,5 @@
 package src.graph.graph.models.undirected;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import src.graph.edge.Edge;
 import src.graph.edge.models.UndirectedEdge;
 import src.graph.graph.abstracts.ArrayGraph;
 import src.graph.graph.interfaces.UndirectedGraph;
@@ -18,6 +14,10 @@ public class UndirectedWeightedArrayGraph extends ArrayGraph implements Undirect
         super(i);
     }
 
+    public UndirectedWeightedArrayGraph(int i, Layout layout) {
+        super(i, layout);
+    }
+
     @Override
     public boolean addEdge(int a, int b) {
         return addEdge(a, b, 1);
@@ -25,32 +25,13 @@ public class UndirectedWeightedArrayGraph extends ArrayGraph implements Undirect
 
     @Override
     public void removeEdge(int a, int b) {
-        if (a >= n || b >= n) { return; }
-        adjacencyMatrix[a][b] = adjacencyMatrix[b][a] = null;
+        detachEdge(a, b);
     }
 
     @Override
     public boolean addEdge(int a, int b, int value) {
-        if (a >= n || b >= n) { return false; }
-        if (adjacencyMatrix[a][b] != null) { return false; }
-        Edge edge = new UndirectedEdge(vertices.get(a), vertices.get(b), value);
-        adjacencyMatrix[a][b] = adjacencyMatrix[b][a] = edge;
-        vertices.get(a).connectEdge(edge);
-        vertices.get(b).connectEdge(edge);
-        return true;
-    }
-
-    @Override
-    public List<Edge> edges() {
-        List<Edge> edges = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            for (int j = i; j < n; j++) {
-                if (adjacencyMatrix[i][j] != null) {
-                    edges.add(adjacencyMatrix[i][j]);
-                }
-            }
-        }
-        return edges;
+        if (a < 0 || a >= n || b < 0 || b >= n) { return false; }
+        return addEdge(new UndirectedEdge(vertices.get(a), vertices.get(b), value));
     }
     
 }
@@ -38,7 +38,7 @@ public class UndirectedWeightedLinkedGraph extends LinkedGraph implements Undire
         v.connectEdge(edge);
         w.connectEdge(edge);
 
-        return this.edges.add(edge);
+        return addEdge(edge);
     }
 
     @Override
@@ -6,14 +6,15 @@ import src.graph.edge.Edge;
 import src.graph.edge.models.UndirectedEdge;
 import src.graph.graph.interfaces.Tree;
 import src.graph.graph.interfaces.UnionFind;
-import src.graph.graph.models.directed.ComponentSet;
+import src.graph.graph.models.directed.ArrayUnionFind;
 import src.graph.vertices.Vertex;
 import src.util.Graphs;
 
 public class UndirectedWeightedTree extends UndirectedWeightedLinkedGraph implements Tree {
 
     private Vertex root;
-    private UnionFind uf = new ComponentSet();
+    private UnionFind uf = new ArrayUnionFind();
+    private boolean removedEdges = false;
 
     public UndirectedWeightedTree() {
         super();
@@ -45,8 +46,10 @@ public class UndirectedWeightedTree extends UndirectedWeightedLinkedGraph implem
             return false;
         }
 
-        if (edges.size() < uf.size()) {
-            this.uf = new ComponentSet(vertices.size());
+        // The union-find can not split components, and misses vertices added after it was built
+        if (removedEdges || uf.size() < vertices.size()) {
+            this.uf = new ArrayUnionFind(vertices.size());
+            this.removedEdges = false;
 
             for (Edge edge : edges) {
                 uf.union(edge.start().getKey(), edge.end().getKey());
@@ -62,7 +65,13 @@ public class UndirectedWeightedTree extends UndirectedWeightedLinkedGraph implem
         w.connectEdge(edge);
         uf.union(v.getKey(), w.getKey());
 
-        return this.edges.add(edge);
+        return addEdge(edge);
+    }
+
+    @Override
+    protected void removeEdge(Edge e) {
+        super.removeEdge(e);
+        this.removedEdges = true;
     }
 
     @Override
@@ -0,0 +1,114 @@
+package src.graph.vertices.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import src.graph.edge.Edge;
+import src.graph.graph.interfaces.Graph;
+import src.graph.vertices.Vertex;
+
+/**
+ * A lightweight vertex that does not hold any state on its own. All calls are delegated
+ * to the graph it was created by, which allows graphs with primitive internal storage to
+ * hand out vertices on demand.
+ * </p>
+ * Views are not connected to their edges, thus {@link #connectEdge(Edge)} and
+ * {@link #separateEdge(Edge)} are not supported. Two views are equal if they belong to the
+ * same graph and share the same key.
+ */
+public class VertexView implements Vertex {
+
+    private final Graph graph;
+    private final int key;
+
+    public VertexView(Graph graph, int key) {
+        Objects.requireNonNull(graph);
+
+        this.graph = graph;
+        this.key = key;
+    }
+
+    @Override
+    public List<Vertex> neighbours() {
+        return graph.neighbours(key);
+    }
+
+    @Override
+    public Iterator<Vertex> neighboursIterator() {
+        return neighbours().iterator();
+    }
+
+    @Override
+    public int getKey() {
+        return key;
+    }
+
+    @Override
+    public List<Edge> edges() {
+        List<Edge> edges = new ArrayList<>();
+        for (Vertex v : neighbours()) {
+            Edge edge = graph.parseEdge(key, v.getKey());
+            if (edge != null) {
+                edges.add(edge);
+            }
+        }
+        return Collections.unmodifiableList(edges);
+    }
+
+    @Override
+    public void connectEdge(Edge e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void separateEdge(Edge e) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int degree() {
+        return neighbours().size();
+    }
+
+    @Override
+    public int getValue() {
+        return graph.getValue(key);
+    }
+
+    @Override
+    public void setValue(int i) {
+        graph.setValue(key, i);
+    }
+
+    @Override
+    public String toString() {
+        return "" + this.key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null) {
+            return false;
+        }
+
+        if (o == this) {
+            return true;
+        }
+
+        if (o.getClass() != this.getClass()) {
+            return false;
+        }
+
+        VertexView other = (VertexView) o;
+
+        return other.key == this.key && other.graph == this.graph;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key);
+    }
+}
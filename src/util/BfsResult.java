@@ -0,0 +1,42 @@
+package src.util;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import src.graph.graph.interfaces.Graph;
+import src.graph.vertices.Vertex;
+
+/**
+ * The result of a Breadth First Search over a whole graph, see {@link Graphs#parallelBfs(Graph, int)}.
+ *
+ * @param source The key of the start vertex
+ * @param distances The least amount of edges from the source to every vertex, {@code -1} if the vertex can not be reached
+ * @param parents The predecessor of every vertex on one of its shortest paths, {@code -1} for the source
+ * and all vertices that can not be reached
+ * @param reached The amount of vertices that can be reached, including the source
+ */
+public record BfsResult(int source, int[] distances, int[] parents, int reached) {
+
+    /**
+     * Extracts a shortest path from the source to the vertex, by following the parents.
+     * @param g The graph that was searched
+     * @param t The key of the target vertex
+     * @return The path including the source and t, an empty list if t is the source,
+     * or null if t can not be reached
+     */
+    public List<Vertex> path(Graph g, int t) {
+        if (distances[t] == -1) {
+            return null;
+        }
+
+        LinkedList<Vertex> path = new LinkedList<>();
+        if (t == source) {
+            return path;
+        }
+
+        for (int v = t; v != -1; v = parents[v]) {
+            path.addFirst(g.parseVertex(v));
+        }
+        return path;
+    }
+}
@@ -0,0 +1,124 @@
+package src.util;
+
+import java.util.Arrays;
+
+import src.graph.graph.abstracts.ArrayGraph;
+import src.graph.graph.interfaces.DirectedGraph;
+
+/**
+ * A level-synchronous Breadth First Search on the bit matrix of an {@link ArrayGraph} with
+ * {@link ArrayGraph.Layout#BITS}. The frontier and the visited vertices are bitsets over the same words
+ * as the rows of the matrix.
+ * </p>
+ * Top-down sweeps OR the rows of the frontier into the next frontier, masking out visited vertices a
+ * word at a time. Once the frontier holds more vertices than are left unvisited, bottom-up sweeps AND
+ * the row of every unvisited vertex with the frontier instead, and stop at the first word that is not
+ * empty. Bottom-up sweeps need the rows to be symmetric, thus directed graphs are only searched top-down.
+ */
+final class BitBfs {
+
+    private final ArrayGraph g;
+    private final boolean directed;
+    private final int n;
+    private final int words;
+    private final int[] distances;
+    private final int[] parents;
+    private final long[] visited;
+
+    BitBfs(ArrayGraph g) {
+        this.g = g;
+        this.directed = g instanceof DirectedGraph;
+        this.n = g.sizeVertices();
+        this.words = g.adjacencyWords();
+        this.distances = new int[n];
+        this.parents = new int[n];
+        this.visited = new long[words];
+        Arrays.fill(distances, -1);
+        Arrays.fill(parents, -1);
+    }
+
+    BfsResult run(int s) {
+        long[] frontier = new long[words];
+        long[] next = new long[words];
+
+        distances[s] = 0;
+        visited[s >>> 6] |= 1L << s;
+        frontier[s >>> 6] |= 1L << s;
+        int frontierSize = 1;
+        int reached = 1;
+        int level = 0;
+
+        while (frontierSize > 0) {
+            level++;
+            Arrays.fill(next, 0);
+
+            frontierSize = !directed && frontierSize > n - reached
+                ? bottomUp(frontier, next, level)
+                : topDown(frontier, next, level);
+            reached += frontierSize;
+
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+        }
+
+        return new BfsResult(s, distances, parents, reached);
+    }
+
+    private int topDown(long[] frontier, long[] next, int level) {
+        int found = 0;
+        for (int fw = 0; fw < words; fw++) {
+            for (long bits = frontier[fw]; bits != 0; bits &= bits - 1) {
+                int u = fw << 6 | Long.numberOfTrailingZeros(bits);
+
+                for (int w = 0; w < words; w++) {
+                    long fresh = g.adjacencyWord(u, w) & ~visited[w];
+                    if (fresh == 0) {
+                        continue;
+                    }
+
+                    visited[w] |= fresh;
+                    next[w] |= fresh;
+                    found += Long.bitCount(fresh);
+                    for (; fresh != 0; fresh &= fresh - 1) {
+                        int v = w << 6 | Long.numberOfTrailingZeros(fresh);
+                        distances[v] = level;
+                        parents[v] = u;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int bottomUp(long[] frontier, long[] next, int level) {
+        int found = 0;
+        for (int vw = 0; vw < words; vw++) {
+            // Bits past the last vertex are never set in the rows, but they are unvisited
+            long unvisited = ~visited[vw];
+            if (vw == words - 1 && (n & 63) != 0) {
+                unvisited &= (1L << n) - 1;
+            }
+
+            for (; unvisited != 0; unvisited &= unvisited - 1) {
+                int v = vw << 6 | Long.numberOfTrailingZeros(unvisited);
+
+                for (int w = 0; w < words; w++) {
+                    long common = g.adjacencyWord(v, w) & frontier[w];
+                    if (common != 0) {
+                        next[vw] |= 1L << v;
+                        distances[v] = level;
+                        parents[v] = w << 6 | Long.numberOfTrailingZeros(common);
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int w = 0; w < words; w++) {
+            visited[w] |= next[w];
+        }
+        return found;
+    }
+}
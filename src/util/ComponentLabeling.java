@@ -0,0 +1,156 @@
+package src.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import src.graph.graph.interfaces.UnionFind;
+import src.graph.graph.models.CsrGraph;
+import src.graph.graph.models.directed.ArrayUnionFind;
+import src.graph.graph.models.directed.ConcurrentUnionFind;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.graph.models.undirected.Mesh2D.MeshType;
+import src.util.collections.IntList;
+
+/**
+ * Labels connected components with a union-find. The first pass unites the endpoints of every
+ * edge, the second pass numbers the representants in the order of the keys and copies their
+ * labels to all other vertices.
+ * </p>
+ * With more than one thread, the first pass runs on a {@link ForkJoinPool} and merges the
+ * components in a {@link ConcurrentUnionFind}, otherwise an {@link ArrayUnionFind} is used.
+ * Either way, the labels only depend on the components and not on the order of the unions.
+ */
+final class ComponentLabeling {
+
+    private static final int GRAIN = 1 << 14;
+
+    private ComponentLabeling() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Labels the components of a graph, directed arcs are treated as undirected edges.
+     */
+    static Components of(CsrGraph g, int threads) {
+        int n = g.sizeVertices();
+        UnionFind uf = threads == 1 ? new ArrayUnionFind(n) : new ConcurrentUnionFind(n);
+
+        run(threads, n, GRAIN, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                    int v = g.target(arc);
+                    // Undirected edges are stored in both directions
+                    if (g.isDirected() || u < v) {
+                        uf.union(u, v);
+                    }
+                }
+            }
+        });
+
+        return collect(uf, n);
+    }
+
+    /**
+     * Labels the regions of a mesh by a raster scan, neighbouring cells are connected if they share
+     * a class. Every cell is compared with its left and upper neighbour, rows are split between the
+     * threads. Cells in the first column and row are compared with the opposite border if the
+     * mesh wraps around.
+     */
+    static Components of(Mesh2D mesh, int[] classes, int threads) {
+        int width = mesh.getWidth();
+        int height = mesh.getHeight();
+        MeshType meshType = mesh.getMeshType();
+        boolean wrapX = width > 1 && (meshType == MeshType.ZYLINDER || meshType == MeshType.DONUT);
+        boolean wrapY = height > 1 && meshType == MeshType.DONUT;
+
+        int n = width * height;
+        UnionFind uf = threads == 1 ? new ArrayUnionFind(n) : new ConcurrentUnionFind(n);
+
+        run(threads, height, Math.max(1, GRAIN / Math.max(1, width)), (fromRow, toRow) -> {
+            for (int y = fromRow; y < toRow; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    int key = row + x;
+                    int c = classes[key];
+
+                    if (x > 0 ? classes[key - 1] == c : wrapX && classes[row + width - 1] == c) {
+                        uf.union(x > 0 ? key - 1 : row + width - 1, key);
+                    }
+                    if (y > 0 ? classes[key - width] == c : wrapY && classes[n - width + x] == c) {
+                        uf.union(y > 0 ? key - width : n - width + x, key);
+                    }
+                }
+            }
+        });
+
+        return collect(uf, n);
+    }
+
+    private static void run(int threads, int size, int grain, Range range) {
+        if (threads == 1 || size <= grain) {
+            range.unite(0, size);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.invoke(new Pass(range, 0, size, grain));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Components collect(UnionFind uf, int n) {
+        int[] labels = new int[n];
+        IntList sizes = new IntList();
+        Arrays.fill(labels, -1);
+
+        for (int v = 0; v < n; v++) {
+            int r = uf.find(v);
+            if (labels[r] == -1) {
+                labels[r] = sizes.size();
+                sizes.add(0);
+            }
+            labels[v] = labels[r];
+            sizes.increment(labels[v], 1);
+        }
+
+        return new Components(labels, sizes.toArray());
+    }
+
+    /**
+     * Unites the endpoints of all edges starting in a range of vertices or rows.
+     */
+    @FunctionalInterface
+    private interface Range {
+
+        void unite(int from, int to);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class Pass extends RecursiveAction {
+
+        private final Range range;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        Pass(Range range, int from, int to, int grain) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                range.unite(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Pass(range, from, mid, grain), new Pass(range, mid, to, grain));
+        }
+    }
+}
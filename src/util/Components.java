@@ -0,0 +1,39 @@
+package src.util;
+
+import src.graph.graph.interfaces.Graph;
+
+/**
+ * The connected components of a graph, see {@link Graphs#connectedComponents(Graph)}.
+ * Components are numbered {@code 0} to {@code count() - 1} in the order of their smallest key.
+ *
+ * @param labels The component of every vertex
+ * @param sizes The amount of vertices in every component
+ */
+public record Components(int[] labels, int[] sizes) {
+
+    /**
+     * Returns the amount of components.
+     * @return The amount of components
+     */
+    public int count() {
+        return sizes.length;
+    }
+
+    /**
+     * Returns the component of the vertex.
+     * @param v The key of the vertex
+     * @return The label of its component
+     */
+    public int label(int v) {
+        return labels[v];
+    }
+
+    /**
+     * Returns the size of the component containing the vertex.
+     * @param v The key of the vertex
+     * @return The amount of vertices in its component
+     */
+    public int sizeOf(int v) {
+        return sizes[labels[v]];
+    }
+}
@@ -1,28 +1,34 @@
 package src.util;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntUnaryOperator;
 
 import src.graph.edge.Edge;
-import src.graph.edge.models.UndirectedEdge;
+import src.graph.graph.abstracts.ArrayGraph;
+import src.graph.graph.abstracts.ArrayGraph.Layout;
+import src.graph.graph.interfaces.DirectedGraph;
 import src.graph.graph.interfaces.Graph;
 import src.graph.graph.interfaces.Tree;
 import src.graph.graph.interfaces.UndirectedGraph;
-import src.graph.graph.interfaces.UnionFind;
-import src.graph.graph.models.directed.ComponentSet;
+import src.graph.graph.models.CsrGraph;
 import src.graph.graph.models.directed.DirectedLinkedGraph;
 import src.graph.graph.models.directed.DirectedWeightedLinkedGraph;
+import src.graph.graph.models.undirected.Mesh2D;
 import src.graph.graph.models.undirected.UndirectedLinkedGraph;
 import src.graph.graph.models.undirected.UndirectedWeightedTree;
 import src.graph.vertices.Vertex;
 import src.util.queues.BinaryHeap;
+import src.util.queues.BucketQueue;
 import src.util.queues.FibonacciHeap;
 import src.util.queues.Heap;
+import src.util.queues.IndexedIntMinHeap;
+import src.util.queues.IntPriorityQueue;
 import src.util.queues.PriorityQueue;
 
 /**
@@ -59,6 +65,10 @@ public final class Graphs {
     public static List<Vertex> bfs(Graph g, int s, int t) {
         Objects.requireNonNull(g);
 
+        if (g instanceof CsrGraph csr) {
+            return bfs(csr, s, t);
+        }
+
         List<Vertex> path = new LinkedList<>();
         Vertex[] parents = new Vertex[g.sizeVertices()];
         boolean[] exploredNodes = new boolean[g.sizeVertices()];
@@ -74,7 +84,7 @@ public final class Graphs {
             return path;
         }
         
-        Queue<Vertex> queue = new ConcurrentLinkedQueue<>();
+        Queue<Vertex> queue = new ArrayDeque<>();
         queue.add(start);
         exploredNodes[s] = true;
 
@@ -96,6 +106,43 @@ public final class Graphs {
         return reconstructPath(parents, start, target);
     }
 
+    private static List<Vertex> bfs(CsrGraph g, int s, int t) {
+        int n = g.sizeVertices();
+
+        if (s < 0 || s >= n || t < 0 || t >= n) {
+            throw new IllegalArgumentException("Start or target vertex dont exist.");
+        }
+
+        if (s == t) {
+            return new LinkedList<>();
+        }
+
+        int[] parents = new int[n];
+        int[] queue = new int[n];
+        boolean[] exploredNodes = new boolean[n];
+        Arrays.fill(parents, -1);
+
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = s;
+        exploredNodes[s] = true;
+
+        // BFS
+        while (head < tail && !exploredNodes[t]) {
+            int u = queue[head++];
+            for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                int v = g.target(arc);
+                if (!exploredNodes[v]) {
+                    queue[tail++] = v;
+                    exploredNodes[v] = true;
+                    parents[v] = u;
+                }
+            }
+        }
+
+        return reconstructPath(g, parents, s, t);
+    }
+
     /**
      * Clones a graph such that {@code (g == clone(g)) == false} and 
      * {@code g.equals(clone(g)) == true}.
@@ -132,7 +179,7 @@ public final class Graphs {
             throw new IllegalArgumentException("Start does not exist");
         }
 
-        Queue<Vertex> queue = new ConcurrentLinkedQueue<>();
+        Queue<Vertex> queue = new ArrayDeque<>();
         queue.add(start);
         exploredNodes[s] = true;
 
@@ -156,6 +203,9 @@ public final class Graphs {
      * </p>
      * Note: The shortest path is therefore the path with the lowest sum of weights.
      * </p>
+     * Vertices are only queued once they are reached, and the search stops as soon as t is settled.
+     * Distances are summed up as {@code long}s, thus large weights can not overflow.
+     * </p>
      * This runs in quasi-linear time.
      * @param g The Graph to execute the algorithm on.
      * @param s The key of the start node.
@@ -164,10 +214,30 @@ public final class Graphs {
      * </p>
      * Returns an empty list if {@code s == t} is true.
      * Returns null if no path was found.
+     * @see #shortestPath(Graph, int, int)
      */
     public static List<Vertex> dijkstra(Graph g, int s, int t) {
+        return shortestPath(g, s, t).path();
+    }
+
+    /**
+     * Uses Dijkstras Algorithm to calculate the shortest path from s to t, using the given queue
+     * to order the vertices. This allows to compare the different {@link PriorityQueue} implementations.
+     * </p>
+     * All vertices are queued up front. The queue only takes {@code int} priorities, thus distances are
+     * capped at {@link Integer#MAX_VALUE} and vertices beyond it may be settled in the wrong order.
+     * The queue must be empty and is emptied afterwards.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @param heap The queue to be used
+     * @return The shortes Path from s to t with respect to weighted edges including s and t. 
+     * @see #dijkstra(Graph, int, int)
+     */
+    public static List<Vertex> dijkstra(Graph g, int s, int t, PriorityQueue<Vertex> heap) {
         Objects.requireNonNull(g);
-        
+        Objects.requireNonNull(heap);
+
         Vertex[] parents = new Vertex[g.sizeVertices()];
         boolean[] exploredNodes = new boolean[g.sizeVertices()];
 
@@ -185,15 +255,17 @@ public final class Graphs {
         long[] distances = infinityArray(g.sizeVertices());
         distances[s] = 0;
 
-        PriorityQueue<Vertex> heap = new BinaryHeap<>();
         for (Vertex v : g.vertices()) {
-            heap.push(v, (int) distances[v.getKey()]);
+            heap.push(v, priority(distances[v.getKey()]));
         }
 
         while(!heap.isEmpty()) {
             Vertex u = heap.popMin();
             int j = u.getKey();
             exploredNodes[j] = true;
+            if (distances[j] == PathSearch.INFINITY) {
+                continue;
+            }
             for (Vertex v : u.neighbours()) {
                 int i = v.getKey();
                 if (distances[i] > distances[j] + g.parseEdge(j, i).getWeight()) {
@@ -201,7 +273,7 @@ public final class Graphs {
                     if (!exploredNodes[i]) {
                         setParent(parents, v, u);
                     }
-                    heap.decPrio(v, (int) distances[i]);
+                    heap.decPrio(v, priority(distances[i]));
                 }
             }
         }
@@ -209,6 +281,445 @@ public final class Graphs {
         return reconstructPath(parents, start, target);
     }
 
+    /**
+     * Uses Dijkstras Algorithm to calculate the shortest path from s to t, using the given queue
+     * instead of a {@link BinaryHeap}. A primitive queue like {@link IndexedIntMinHeap} avoids boxing
+     * and hashing the vertices on every operation.
+     * </p>
+     * All vertices are queued up front, with their {@code long} distances as priorities.
+     * The queue must be empty and able to hold the keys of all vertices. It is emptied afterwards,
+     * thus it can be reused for further calls.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @param heap The queue to be used
+     * @return The shortes Path from s to t with respect to weighted edges including s and t. 
+     * @see #dijkstra(Graph, int, int)
+     */
+    public static List<Vertex> dijkstra(Graph g, int s, int t, IntPriorityQueue heap) {
+        Objects.requireNonNull(g);
+        Objects.requireNonNull(heap);
+
+        if (g.parseVertex(s) == null || g.parseVertex(t) == null) {
+            throw new IllegalArgumentException();
+        }
+
+        if (s == t) {
+            return new LinkedList<>();
+        }
+
+        int n = g.sizeVertices();
+        int[] parents = new int[n];
+        Arrays.fill(parents, -1);
+
+        long[] distances = infinityArray(n);
+        distances[s] = 0;
+
+        for (int i = 0; i < n; i++) {
+            heap.push(i, distances[i]);
+        }
+
+        if (g instanceof CsrGraph csr) {
+            dijkstra(csr, heap, distances, parents);
+        } else {
+            dijkstra(g, heap, distances, parents);
+        }
+        heap.clear();
+
+        return reconstructPath(g, parents, s, t);
+    }
+
+    private static void dijkstra(CsrGraph g, IntPriorityQueue heap, long[] distances, int[] parents) {
+        while (!heap.isEmpty()) {
+            int u = heap.popMin();
+            if (distances[u] == PathSearch.INFINITY) {
+                return; // All remaining vertices are unreachable
+            }
+            for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                int v = g.target(arc);
+                long d = distances[u] + g.weight(arc);
+                if (d < distances[v] && heap.contains(v)) {
+                    distances[v] = d;
+                    parents[v] = u;
+                    heap.decPrio(v, d);
+                }
+            }
+        }
+    }
+
+    private static void dijkstra(Graph g, IntPriorityQueue heap, long[] distances, int[] parents) {
+        boolean directed = g instanceof DirectedGraph;
+
+        while (!heap.isEmpty()) {
+            int j = heap.popMin();
+            if (distances[j] == PathSearch.INFINITY) {
+                return; // All remaining vertices are unreachable
+            }
+            Vertex u = g.parseVertex(j);
+            for (Edge e : u.edges()) {
+                if (directed && e.start().getKey() != j) {
+                    continue;
+                }
+                int i = e.getOther(u).getKey();
+                long d = distances[j] + e.getWeight();
+                if (d < distances[i] && heap.contains(i)) {
+                    distances[i] = d;
+                    parents[i] = j;
+                    heap.decPrio(i, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Uses Dijkstras Algorithm to calculate the shortest path from s to t, but stops as soon as t is settled.
+     * Vertices are only queued once they are reached, thus a query only touches the vertices closer
+     * to s than t.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @return The shortest path and the amount of settled vertices
+     * @see #dijkstra(Graph, int, int)
+     */
+    public static ShortestPath shortestPath(Graph g, int s, int t) {
+        Objects.requireNonNull(g);
+        checkVertices(g, s, t);
+
+        if (s == t) {
+            return new ShortestPath(new LinkedList<>(), 0, 0);
+        }
+
+        return pointToPoint(g, s, t, new PathSearch(g, s, t));
+    }
+
+    /**
+     * Uses Dijkstras Algorithm to calculate the shortest path from s to t like
+     * {@link #shortestPath(Graph, int, int)}, but queues the vertices in the given queue. Only the weights
+     * of a {@link CsrGraph} are known up front, callers that know the weights of other graphs can pass a
+     * {@link BucketQueue} with a range of {@code w + 1} for weights from {@code 0} to {@code w}.
+     * </p>
+     * The queue must be empty and able to hold the keys of all vertices. It is emptied afterwards,
+     * thus it can be reused for further calls.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @param queue The queue to be used
+     * @return The shortest path and the amount of settled vertices
+     */
+    public static ShortestPath shortestPath(Graph g, int s, int t, IntPriorityQueue queue) {
+        Objects.requireNonNull(g);
+        Objects.requireNonNull(queue);
+        checkVertices(g, s, t);
+
+        if (s == t) {
+            return new ShortestPath(new LinkedList<>(), 0, 0);
+        }
+
+        ShortestPath path = pointToPoint(g, s, t, new PathSearch(g, s, t, queue));
+        queue.clear();
+        return path;
+    }
+
+    /**
+     * Uses the A* Algorithm to calculate the shortest path from s to t. Vertices are settled in the
+     * order of their distance from s plus the estimated distance to t, which leads the search towards t.
+     * </p>
+     * The path is only guaranteed to be the shortest one, if the heuristic never overestimates.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @param heuristic The estimate of the distance to t
+     * @return The shortest path and the amount of settled vertices
+     * @see Heuristic
+     */
+    public static ShortestPath aStar(Graph g, int s, int t, Heuristic heuristic) {
+        Objects.requireNonNull(g);
+        Objects.requireNonNull(heuristic);
+        checkVertices(g, s, t);
+
+        if (s == t) {
+            return new ShortestPath(new LinkedList<>(), 0, 0);
+        }
+
+        return pointToPoint(g, s, t, new PathSearch(g, s, t, heuristic));
+    }
+
+    private static ShortestPath pointToPoint(Graph g, int s, int t, PathSearch search) {
+        while (!search.isEmpty()) {
+            if (search.settleNext() == t) {
+                return new ShortestPath(reconstructPath(g, search.parents, s, t), search.distances[t], search.settled);
+            }
+        }
+
+        return new ShortestPath(null, -1, search.settled);
+    }
+
+    /**
+     * Uses the A* Algorithm with the {@link Heuristic#manhattan Manhattan distance} to calculate the
+     * shortest path from s to t on a mesh whose edges weigh at least 1.
+     * @param mesh The mesh to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @return The shortest path and the amount of settled vertices
+     */
+    public static ShortestPath aStar(Mesh2D mesh, int s, int t) {
+        return aStar(mesh, s, t, Heuristic.manhattan(mesh));
+    }
+
+    /**
+     * Uses a bidirectional Dijkstra to calculate the shortest path from s to t. One search starts at s,
+     * another one follows the edges backwards from t, and both stop once they can not find a shorter
+     * path through a vertex reached by both. On meshes this settles about half the vertices of
+     * {@link #shortestPath(Graph, int, int)}.
+     * </p>
+     * Directed graphs are searched backwards on a reversed {@link CsrGraph} copy, which takes linear time.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the start node.
+     * @param t The key of the target node.
+     * @return The shortest path and the amount of settled vertices
+     */
+    public static ShortestPath bidirectionalDijkstra(Graph g, int s, int t) {
+        Objects.requireNonNull(g);
+        checkVertices(g, s, t);
+
+        if (s == t) {
+            return new ShortestPath(new LinkedList<>(), 0, 0);
+        }
+
+        Graph reverse = g;
+        if (g instanceof CsrGraph csr) {
+            reverse = csr.reversed();
+        } else if (g instanceof DirectedGraph) {
+            reverse = CsrGraph.of(g).reversed();
+        }
+        PathSearch forward = new PathSearch(g, s, t);
+        PathSearch backward = new PathSearch(reverse, t, s);
+        forward.opposite = backward;
+        backward.opposite = forward;
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            long best = Math.min(forward.best, backward.best);
+            if (best != PathSearch.INFINITY && forward.minDistance() + backward.minDistance() >= best) {
+                break;
+            }
+
+            if (forward.minDistance() <= backward.minDistance()) {
+                forward.settleNext();
+            } else {
+                backward.settleNext();
+            }
+        }
+
+        int settled = forward.settled + backward.settled;
+        PathSearch meeting = forward.best <= backward.best ? forward : backward;
+        if (meeting.meet == -1) {
+            return new ShortestPath(null, -1, settled);
+        }
+
+        LinkedList<Vertex> path = new LinkedList<>(reconstructPath(g, forward.parents, s, meeting.meet));
+        for (int v = backward.parents[meeting.meet]; v != -1; v = backward.parents[v]) {
+            path.addLast(g.parseVertex(v));
+        }
+
+        return new ShortestPath(path, meeting.best, settled);
+    }
+
+    /**
+     * Uses Dijkstras Algorithm to calculate the shortest paths from s to all vertices. The result can
+     * be queried for the distance of and the path to any vertex, without searching the graph again.
+     * </p>
+     * All weights must be non-negative, otherwise settled vertices would be reopened and the
+     * settling order would no longer list every parent before its children.
+     * </p>
+     * This runs in quasi-linear time.
+     * @param g The Graph to execute the algorithm on.
+     * @param s The key of the source node.
+     * @return The shortest path tree rooted at s
+     * @throws IllegalArgumentException If the graph has a negative weight
+     */
+    public static ShortestPathTree shortestPathTree(Graph g, int s) {
+        Objects.requireNonNull(g);
+        checkVertices(g, s, s);
+        checkNonNegative(g);
+
+        PathSearch search = new PathSearch(g, s, s);
+        int[] order = new int[g.sizeVertices()];
+        int reached = 0;
+
+        while (!search.isEmpty()) {
+            order[reached++] = search.settleNext();
+        }
+
+        return new ShortestPathTree(g, s, search.distances, search.parents, Arrays.copyOf(order, reached));
+    }
+
+    /**
+     * Calculates the distances from every source to every target with Dijkstras Algorithm,
+     * using all available processors.
+     * @param g The Graph to execute the algorithm on.
+     * @param sources The keys of the source nodes
+     * @param targets The keys of the target nodes
+     * @return The matrix of distances, indexed by source and target, with {@code -1} for unreachable targets
+     * @see #distanceMatrix(Graph, int[], int[], int)
+     */
+    public static long[][] distanceMatrix(Graph g, int[] sources, int[] targets) {
+        return distanceMatrix(g, sources, targets, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Calculates the distances from every source to every target with Dijkstras Algorithm. The sources
+     * are searched independently on a {@link java.util.concurrent.ForkJoinPool} with the given amount of
+     * threads, every thread reusing its arrays for all of its sources. Searches stop once all targets
+     * are settled, thus a matrix between landmarks is much cheaper than the distances to all vertices.
+     * </p>
+     * The graph is copied into a {@link CsrGraph} once, and must not change during the call. All weights
+     * must be non-negative, as settled vertices are never reopened.
+     * @param g The Graph to execute the algorithm on.
+     * @param sources The keys of the source nodes
+     * @param targets The keys of the target nodes
+     * @param threads The amount of threads
+     * @return The matrix of distances, indexed by source and target, with {@code -1} for unreachable targets
+     * @throws IllegalArgumentException If the graph has a negative weight
+     */
+    public static long[][] distanceMatrix(Graph g, int[] sources, int[] targets, int threads) {
+        return multiSource(g, sources, targets, threads, true);
+    }
+
+    /**
+     * Calculates the least amount of edges from every source to every target with a Breadth First Search,
+     * using all available processors. Weights are ignored.
+     * @param g The Graph to execute the algorithm on.
+     * @param sources The keys of the source nodes
+     * @param targets The keys of the target nodes
+     * @return The matrix of hop counts, indexed by source and target, with {@code -1} for unreachable targets
+     * @see #distanceMatrix(Graph, int[], int[], int)
+     */
+    public static long[][] hopMatrix(Graph g, int[] sources, int[] targets) {
+        return hopMatrix(g, sources, targets, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Calculates the least amount of edges from every source to every target with a Breadth First Search,
+     * running the sources in parallel like {@link #distanceMatrix(Graph, int[], int[], int)}.
+     * @param g The Graph to execute the algorithm on.
+     * @param sources The keys of the source nodes
+     * @param targets The keys of the target nodes
+     * @param threads The amount of threads
+     * @return The matrix of hop counts, indexed by source and target, with {@code -1} for unreachable targets
+     */
+    public static long[][] hopMatrix(Graph g, int[] sources, int[] targets, int threads) {
+        return multiSource(g, sources, targets, threads, false);
+    }
+
+    private static long[][] multiSource(Graph g, int[] sources, int[] targets, int threads, boolean weighted) {
+        Objects.requireNonNull(g);
+        Objects.requireNonNull(sources);
+        Objects.requireNonNull(targets);
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+        for (int[] keys : new int[][] {sources, targets}) {
+            for (int key : keys) {
+                if (key < 0 || key >= g.sizeVertices()) {
+                    throw new IllegalArgumentException("Vertex %d does not exist.".formatted(key));
+                }
+            }
+        }
+
+        if (sources.length == 0) {
+            return new long[0][];
+        }
+
+        CsrGraph csr = g instanceof CsrGraph c ? c : CsrGraph.of(g);
+        if (weighted) {
+            checkNonNegative(csr);
+        }
+        return new MultiSourceSearch(csr, sources, targets, weighted).run(threads);
+    }
+
+    /**
+     * Calculates the distances between all pairs of vertices with the Floyd-Warshall Algorithm, reading
+     * the weights straight from the adjacency structure of the graph. Negative weights are permitted in
+     * directed graphs, as long as there is no negative circle. In undirected graphs every negative edge
+     * is a negative circle on its own.
+     * </p>
+     * This runs in cubic time, and is meant for small and dense graphs.
+     * @param g The Graph to execute the algorithm on.
+     * @return The matrix of distances, with {@code -1} for unreachable vertices
+     * @throws IllegalArgumentException If the graph has a negative circle
+     */
+    public static long[][] floydWarshall(ArrayGraph g) {
+        Objects.requireNonNull(g);
+
+        int n = g.sizeVertices();
+        long[][] distances = new long[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                Edge e = g.parseEdge(i, j);
+                if (e == null) {
+                    distances[i][j] = i == j ? 0 : PathSearch.INFINITY;
+                } else {
+                    distances[i][j] = i == j ? Math.min(0, e.getWeight()) : e.getWeight();
+                }
+            }
+        }
+
+        for (int k = 0; k < n; k++) {
+            long[] row = distances[k];
+            for (int i = 0; i < n; i++) {
+                long[] current = distances[i];
+                long d = current[k];
+                if (d == PathSearch.INFINITY) {
+                    continue;
+                }
+                for (int j = 0; j < n; j++) {
+                    if (row[j] != PathSearch.INFINITY && d + row[j] < current[j]) {
+                        current[j] = d + row[j];
+                    }
+                }
+            }
+        }
+
+        // A vertex on a negative circle can be reached from itself with a negative distance
+        for (int i = 0; i < n; i++) {
+            if (distances[i][i] < 0) {
+                throw new IllegalArgumentException("Vertex %d lies on a negative circle.".formatted(i));
+            }
+        }
+
+        for (long[] row : distances) {
+            for (int j = 0; j < n; j++) {
+                if (row[j] == PathSearch.INFINITY) {
+                    row[j] = -1;
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    private static void checkVertices(Graph g, int s, int t) {
+        if (g.parseVertex(s) == null || g.parseVertex(t) == null) {
+            throw new IllegalArgumentException("Start or target vertex dont exist.");
+        }
+    }
+
+    private static void checkNonNegative(Graph g) {
+        if (g instanceof CsrGraph csr) {
+            if (csr.minWeight() < 0) {
+                throw new IllegalArgumentException("Graph has negative weights.");
+            }
+            return;
+        }
+        for (Edge e : g.edges()) {
+            if (e.getWeight() < 0) {
+                throw new IllegalArgumentException("Graph has negative weights.");
+            }
+        }
+    }
+
     private static List<Vertex> reconstructPath(Vertex[] parents, Vertex start, Vertex target) {
         List<Vertex> path = new LinkedList<>();
 
@@ -230,6 +741,21 @@ public final class Graphs {
         return path;
     }
 
+    private static List<Vertex> reconstructPath(Graph g, int[] parents, int s, int t) {
+        LinkedList<Vertex> path = new LinkedList<>();
+
+        if (t != s && parents[t] == -1) {
+            throw new IllegalArgumentException();
+        }
+
+        for (int v = t; v != s; v = parents[v]) {
+            path.addFirst(g.parseVertex(v));
+        }
+        path.addFirst(g.parseVertex(s));
+
+        return path;
+    }
+
     /**
      * Calculates a minimal spanning tree using Kruskal's Algorithm. 
      * A MST is considered a graph that connects all vertices with the minimal amount of edges (i.e n - 1)
@@ -238,67 +764,145 @@ public final class Graphs {
      * Note: If the input graph does not form a single component, 
      * then all components will be turned into MSTs independently.     
      * </p>
-     * This runs in quasi-linear time.
+     * The edges are sorted as primitive arrays and joined by an array based union-find,
+     * large graphs are sorted in parallel. This runs in quasi-linear time.
      * @param g The graph to calculate the mst from, may not be null and must be non diretional
      * @return A copy of the original graph as a MST
      * @throws ClassCastException When input graph is a directed graph
+     * @see #primMst(ArrayGraph)
      */
     public static Tree mst(Graph g) {
+        Kruskal kruskal = new Kruskal(checkUndirected(g));
+        return mstCopy(g, kruskal, kruskal.run());
+    }
+
+    /**
+     * Calculates a minimal spanning tree using Kruskal's Algorithm, see {@link #mst(Graph)}.
+     * With more than one thread the edges are sorted by {@link Arrays#parallelSort(long[])} on a
+     * {@link java.util.concurrent.ForkJoinPool} with the given amount of threads, regardless of their amount.
+     * @param g The graph to calculate the mst from, may not be null and must be non diretional
+     * @param threads The amount of threads
+     * @return A copy of the original graph as a MST
+     * @throws ClassCastException When input graph is a directed graph
+     */
+    public static Tree mst(Graph g, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+
+        Kruskal kruskal = new Kruskal(checkUndirected(g));
+        return mstCopy(g, kruskal, kruskal.run(threads));
+    }
+
+    private static Graph checkUndirected(Graph g) {
         Objects.requireNonNull(g);
 
-        if (g instanceof DirectedWeightedLinkedGraph) {
+        if (g instanceof DirectedGraph || (g instanceof CsrGraph csr && csr.isDirected())) {
             throw new ClassCastException();
         }
+        return g;
+    }
 
-        Tree copy = new UndirectedWeightedTree(g.sizeVertices());
+    private static Tree mstCopy(Graph g, Kruskal kruskal, int[] selected) {
+        Tree copy = emptyCopy(g);
 
-        List<Edge> edges = new LinkedList<>(g.edges());
-        for (Edge e : g.edges()) {
-            edges.add(new UndirectedEdge(copy.parseVertex(e.start().getKey())
-                , copy.parseVertex(e.end().getKey()), e.getWeight()));
+        for (int edge : selected) {
+            copy.addEdge(kruskal.from(edge), kruskal.to(edge), kruskal.weight(edge));
         }
 
-        edges.sort(Comparator.comparing(Edge::getWeight));
-        UnionFind uf = new ComponentSet(edges.size());
+        return copy;
+    }
 
-        Edge edge = edges.get(0);
-        copy.addEdge(edge.start().getKey(), edge.end().getKey(), edge.getWeight());
+    /**
+     * Calculates a minimal spanning tree using Prim's Algorithm, see {@link #mst(Graph)}.
+     * </p>
+     * Instead of a priority queue, every step scans the tentative weights of all vertices and then
+     * all other vertices for an edge to the new tree vertex. This runs in quadratic time
+     * independent of the amount of edges, which beats sorting the edges on dense graphs.
+     * @param g The graph to calculate the mst from, may not be null
+     * @return A copy of the original graph as a MST
+     */
+    public static Tree primMst(ArrayGraph g) {
+        Objects.requireNonNull(g);
 
-        for (int i = 1; i < edges.size() - 1; i++) {
-                Edge e = edges.get(i);
-                if (uf.find(e.start().getKey()) != uf.find(e.end().getKey())) {
-                    uf.union(e.start().getKey(), e.end().getKey());
-                    copy.addEdge(e.start().getKey(), e.end().getKey(), e.getWeight());
+        int n = g.sizeVertices();
+        long[] weights = new long[n];
+        int[] parents = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(weights, PathSearch.INFINITY);
+        Arrays.fill(parents, -1);
+
+        Tree copy = emptyCopy(g);
+
+        for (int i = 0; i < n; i++) {
+            // Vertices out of reach of the tree start the next component
+            int u = -1;
+            for (int v = 0; v < n; v++) {
+                if (!inTree[v] && (u == -1 || weights[v] < weights[u])) {
+                    u = v;
                 }
-                
+            }
+
+            inTree[u] = true;
+            if (parents[u] != -1) {
+                copy.addEdge(parents[u], u, (int) weights[u]);
+            }
+
+            for (int v = 0; v < n; v++) {
+                Edge e = g.parseEdge(u, v);
+                if (e != null && !inTree[v] && e.getWeight() < weights[v]) {
+                    weights[v] = e.getWeight();
+                    parents[v] = u;
+                }
+            }
         }
 
         return copy;
     }
 
-    private static long[] infinityArray(int size) {
-        long[] array = new long[size];
-        for (int i = 0; i < array.length; i++) {
-            array[i] = Integer.MAX_VALUE;
+    private static Tree emptyCopy(Graph g) {
+        Tree copy = new UndirectedWeightedTree(g.sizeVertices());
+        for (int v = 0; v < g.sizeVertices(); v++) {
+            copy.setValue(v, g.getValue(v));
         }
+        return copy;
+    }
 
+    private static long[] infinityArray(int size) {
+        long[] array = new long[size];
+        Arrays.fill(array, PathSearch.INFINITY);
         return array;
     }
 
+    /**
+     * Caps a distance to the {@code int} priorities of a {@link PriorityQueue}.
+     */
+    private static int priority(long distance) {
+        return (int) Math.min(distance, Integer.MAX_VALUE);
+    }
+
     /**
      * Checks whether a given graph forms a single component.
      * </p>
      * A graph is considered coherent if all vertices can be reached from any vertex.
+     * </p>
+     * This runs a sequential BFS from the vertex {@code 0}, which does not need to copy the graph.
      * @param g The graph to be checked
      * @return True if the graph is coherent
+     * @see #connectedComponents(Graph)
      */
     public static boolean isCoherent(UndirectedGraph g) {
-        boolean[] exploredNodes = new boolean[g.sizeVertices()];
+        Objects.requireNonNull(g);
 
-        Vertex start = g.parseVertex(0);
-        Queue<Vertex> queue = new ConcurrentLinkedQueue<>();
-        queue.add(start);
+        if (g.isEmpty()) {
+            return true;
+        }
+
+        boolean[] exploredNodes = new boolean[g.sizeVertices()];
+        Queue<Vertex> queue = new ArrayDeque<>();
+        queue.add(g.parseVertex(0));
         exploredNodes[0] = true;
+        int reached = 1;
 
         // BFS
         while (!queue.isEmpty()) {
@@ -307,16 +911,142 @@ public final class Graphs {
                 if (!exploredNodes[v.getKey()]) {
                     queue.add(v);
                     exploredNodes[v.getKey()] = true;
+                    reached++;
                 }
             }
         }
 
-        for (boolean explored : exploredNodes) {
-            if(!explored) {
-                return false;
-            }
+        return reached == g.sizeVertices();
+    }
+
+    /**
+     * Labels the connected components of a graph using all available processors.
+     * @param g The graph to be labeled
+     * @return The component of every vertex and the size of every component
+     * @see #connectedComponents(Graph, int)
+     */
+    public static Components connectedComponents(Graph g) {
+        return connectedComponents(g, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Labels the connected components of a graph. Components are numbered in the order of their
+     * smallest key, directed graphs are split into their weakly connected components.
+     * </p>
+     * The edges are merged in a union-find, with more than one thread the vertices are split between
+     * the threads and merged concurrently. The graph is copied into a {@link CsrGraph} once, unless it
+     * already is one.
+     * </p>
+     * This runs in quasi-linear time.
+     * @param g The graph to be labeled
+     * @param threads The amount of threads
+     * @return The component of every vertex and the size of every component
+     */
+    public static Components connectedComponents(Graph g, int threads) {
+        Objects.requireNonNull(g);
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+
+        CsrGraph csr = g instanceof CsrGraph c ? c : CsrGraph.of(g);
+        return ComponentLabeling.of(csr, threads);
+    }
+
+    /**
+     * Labels the regions of equal values in a mesh using all available processors.
+     * @param mesh The mesh to be labeled
+     * @return The region of every cell and the size of every region
+     * @see #regions(Mesh2D, IntUnaryOperator, int)
+     */
+    public static Components regions(Mesh2D mesh) {
+        return regions(mesh, IntUnaryOperator.identity(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Labels the regions of a mesh using all available processors.
+     * @param mesh The mesh to be labeled
+     * @param classifier Maps the value of a cell to its class
+     * @return The region of every cell and the size of every region
+     * @see #regions(Mesh2D, IntUnaryOperator, int)
+     */
+    public static Components regions(Mesh2D mesh, IntUnaryOperator classifier) {
+        return regions(mesh, classifier, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Labels the regions of a mesh, which are the connected areas of cells sharing a class.
+     * For example, classifying the tiles of a generated landscape as land or water results in
+     * the islands and lakes of the landscape. Regions are numbered in the order of their smallest key.
+     * </p>
+     * Cells are connected to their horizontal and vertical neighbours according to the type of
+     * the mesh, edges of the mesh are ignored. The mesh is labeled by a two-pass raster scan:
+     * the first pass compares every cell with its left and upper neighbour and merges their
+     * regions in a union-find, the second pass assigns the final labels. With more than one thread,
+     * the rows of the first pass are split between the threads.
+     * </p>
+     * This runs in quasi-linear time.
+     * @param mesh The mesh to be labeled
+     * @param classifier Maps the value of a cell to its class
+     * @param threads The amount of threads
+     * @return The region of every cell and the size of every region
+     */
+    public static Components regions(Mesh2D mesh, IntUnaryOperator classifier, int threads) {
+        Objects.requireNonNull(mesh);
+        Objects.requireNonNull(classifier);
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+
+        int[] classes = new int[mesh.getWidth() * mesh.getHeight()];
+        for (int key = 0; key < classes.length; key++) {
+            classes[key] = classifier.applyAsInt(mesh.getValue(key));
+        }
+
+        return ComponentLabeling.of(mesh, classes, threads);
+    }
+
+    /**
+     * Uses a parallel Breadth First Search to calculate the least amount of edges from s to every vertex,
+     * using all available processors.
+     * @param g The Graph to execute the BFS on.
+     * @param s The key of the start node.
+     * @return The hop distances and parents of all vertices
+     * @see #parallelBfs(Graph, int, int)
+     */
+    public static BfsResult parallelBfs(Graph g, int s) {
+        return parallelBfs(g, s, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Uses a level-synchronous Breadth First Search to calculate the least amount of edges from s to every vertex.
+     * Large frontiers are expanded in parallel, and once the frontier covers a large part of the graph, the unvisited
+     * vertices search their neighbours for the frontier instead, which scans far fewer edges on meshes and random graphs.
+     * </p>
+     * The graph is copied into a {@link CsrGraph} once, unless it already is one. An {@link ArrayGraph} with
+     * {@link Layout#BITS} is searched on its bit matrix instead, expanding the frontier a word at a time on
+     * the calling thread.
+     * </p>
+     * This runs in linear time, and in {@code O(n^2 / 64)} on a bit matrix.
+     * @param g The Graph to execute the BFS on.
+     * @param s The key of the start node.
+     * @param threads The amount of threads
+     * @return The hop distances and parents of all vertices
+     */
+    public static BfsResult parallelBfs(Graph g, int s, int threads) {
+        Objects.requireNonNull(g);
+        checkVertices(g, s, s);
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required.");
+        }
+
+        if (g instanceof ArrayGraph a && a.layout() == Layout.BITS) {
+            return new BitBfs(a).run(s);
         }
 
-        return true;
+        CsrGraph csr = g instanceof CsrGraph c ? c : CsrGraph.of(g);
+        return new ParallelBfs(csr).run(s, threads);
     }
 }
@@ -0,0 +1,64 @@
+package src.util;
+
+import java.util.Objects;
+
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.graph.models.undirected.Mesh2D.MeshType;
+
+/**
+ * Estimates the distance between two vertices for the A* search of {@link Graphs#aStar}.
+ * </p>
+ * A heuristic must never overestimate the real distance, else the found path may not be the
+ * shortest one. If it additionally never decreases by more than the weight of an edge when
+ * moving along that edge, every vertex is settled at most once.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * Estimates the length of the shortest path from v to t.
+     * @param v The key of a vertex
+     * @param t The key of the target vertex
+     * @return A lower bound of the distance
+     */
+    long estimate(int v, int t);
+
+    /**
+     * The heuristic that estimates every distance as {@code 0}. Using it, A* behaves like Dijkstra's Algorithm.
+     * @return A heuristic
+     */
+    static Heuristic zero() {
+        return (v, t) -> 0;
+    }
+
+    /**
+     * The Manhattan distance between two vertices of a mesh, with their positions derived from
+     * {@link Mesh2D#getWidth()}. Wrap-around edges of zylinders and donuts are taken into account.
+     * </p>
+     * This heuristic assumes that every edge weighs at least 1, as do the meshes created by the
+     * {@code GraphLoader}.
+     * @param mesh The mesh to be searched
+     * @return A heuristic
+     */
+    static Heuristic manhattan(Mesh2D mesh) {
+        Objects.requireNonNull(mesh);
+
+        int width = mesh.getWidth();
+        int height = mesh.getHeight();
+        MeshType meshType = mesh.getMeshType();
+        boolean wrapX = meshType == MeshType.ZYLINDER || meshType == MeshType.DONUT;
+        boolean wrapY = meshType == MeshType.DONUT;
+
+        return (v, t) -> {
+            int dx = Math.abs(v % width - t % width);
+            int dy = Math.abs(v / width - t / width);
+            if (wrapX) {
+                dx = Math.min(dx, width - dx);
+            }
+            if (wrapY) {
+                dy = Math.min(dy, height - dy);
+            }
+            return dx + dy;
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package src.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import src.graph.graph.models.CsrGraph;
+import src.util.queues.IndexedIntMinHeap;
+
+/**
+ * Runs one shortest path search per source on a {@link ForkJoinPool} and collects the distances
+ * to a fixed set of targets. Every task owns the scratch arrays of one search and reuses them
+ * for all its sources, only resetting the entries the previous search touched. A search stops
+ * as soon as all targets are settled.
+ */
+final class MultiSourceSearch {
+
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    private final CsrGraph g;
+    private final int[] sources;
+    private final int[] targets;
+    private final boolean[] isTarget;
+    private final int distinctTargets;
+    private final boolean weighted;
+    private final long[][] result;
+
+    MultiSourceSearch(CsrGraph g, int[] sources, int[] targets, boolean weighted) {
+        this.g = g;
+        this.sources = sources;
+        this.targets = targets;
+        this.weighted = weighted;
+        this.isTarget = new boolean[g.sizeVertices()];
+        this.result = new long[sources.length][];
+
+        int distinct = 0;
+        for (int t : targets) {
+            if (!isTarget[t]) {
+                isTarget[t] = true;
+                distinct++;
+            }
+        }
+        this.distinctTargets = distinct;
+    }
+
+    long[][] run(int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            int chunk = Math.max(1, (sources.length + threads - 1) / threads);
+            pool.invoke(new SourceTask(0, sources.length, chunk));
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    @SuppressWarnings("serial")
+    private final class SourceTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        SourceTask(int from, int to, int chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                Scratch scratch = new Scratch(g.sizeVertices());
+                for (int i = from; i < to; i++) {
+                    result[i] = weighted ? scratch.dijkstra(sources[i]) : scratch.bfs(sources[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SourceTask(from, mid, chunk), new SourceTask(mid, to, chunk));
+        }
+    }
+
+    /**
+     * The arrays of a single search. Distances of untouched vertices are always infinite.
+     */
+    private final class Scratch {
+
+        private final long[] distances;
+        private final int[] touched;
+        private final IndexedIntMinHeap heap;
+        private int touchedCount = 0;
+
+        Scratch(int n) {
+            this.distances = new long[n];
+            this.touched = new int[n];
+            this.heap = weighted ? new IndexedIntMinHeap(n) : null;
+            Arrays.fill(distances, INFINITY);
+        }
+
+        private void reach(int v, long d) {
+            if (distances[v] == INFINITY) {
+                touched[touchedCount++] = v;
+            }
+            distances[v] = d;
+        }
+
+        long[] dijkstra(int s) {
+            int remaining = distinctTargets;
+            reach(s, 0);
+            heap.push(s, 0L);
+
+            while (!heap.isEmpty() && remaining > 0) {
+                int u = heap.popMin();
+                if (isTarget[u]) {
+                    remaining--;
+                }
+                for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                    int v = g.target(arc);
+                    long d = distances[u] + g.weight(arc);
+                    if (d < distances[v]) {
+                        boolean queued = distances[v] != INFINITY;
+                        reach(v, d);
+                        if (queued) {
+                            heap.decPrio(v, d);
+                        } else {
+                            heap.push(v, d);
+                        }
+                    }
+                }
+            }
+            heap.clear();
+
+            return collect();
+        }
+
+        long[] bfs(int s) {
+            int remaining = distinctTargets;
+            reach(s, 0);
+
+            // The touched vertices are the BFS queue
+            for (int head = 0; head < touchedCount && remaining > 0; head++) {
+                int u = touched[head];
+                if (isTarget[u]) {
+                    remaining--;
+                }
+                for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                    int v = g.target(arc);
+                    if (distances[v] == INFINITY) {
+                        reach(v, distances[u] + 1);
+                    }
+                }
+            }
+
+            return collect();
+        }
+
+        private long[] collect() {
+            long[] row = new long[targets.length];
+            for (int i = 0; i < targets.length; i++) {
+                long d = distances[targets[i]];
+                row[i] = d == INFINITY ? -1 : d;
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                distances[touched[i]] = INFINITY;
+            }
+            touchedCount = 0;
+
+            return row;
+        }
+    }
+}
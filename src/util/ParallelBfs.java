@@ -0,0 +1,246 @@
+package src.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import src.graph.graph.models.CsrGraph;
+
+/**
+ * A level-synchronous Breadth First Search, that switches between top-down and bottom-up sweeps.
+ * </p>
+ * Top-down sweeps expand the frontier, a list of vertices, and claim the unvisited neighbours by
+ * setting their bit in a shared bitset with compare-and-set. Once the frontier holds more than a
+ * fraction of the unvisited vertices, bottom-up sweeps let every unvisited vertex search its
+ * neighbours for a member of the frontier, which is stored as a bitset. Bottom-up sweeps split the
+ * vertices at word boundaries, thus every word of the bitsets is written by a single task. The search
+ * switches back to top-down sweeps once the frontier has become small again.
+ * </p>
+ * Sweeps run on a {@link ForkJoinPool}, frontiers smaller than {@link #GRAIN} are expanded by the
+ * calling thread. Distances are deterministic, parents found by top-down sweeps depend on the order
+ * in which the tasks run.
+ */
+final class ParallelBfs {
+
+    // Switching thresholds as proposed by Beamer et al., with the arcs of a set of vertices
+    // estimated by the average degree
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    static final int GRAIN = 1 << 12;
+
+    private final CsrGraph g;
+    private final CsrGraph incoming;
+    private final int n;
+    private final int[] distances;
+    private final int[] parents;
+    private final AtomicLongArray visited;
+
+    ParallelBfs(CsrGraph g) {
+        this.g = g;
+        this.incoming = g.reversed();
+        this.n = g.sizeVertices();
+        this.distances = new int[n];
+        this.parents = new int[n];
+        this.visited = new AtomicLongArray((n + Long.SIZE - 1) / Long.SIZE);
+        Arrays.fill(distances, -1);
+        Arrays.fill(parents, -1);
+    }
+
+    BfsResult run(int s, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return run(s, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private BfsResult run(int s, ForkJoinPool pool) {
+        distances[s] = 0;
+        visited.set(s >>> 6, 1L << s);
+
+        Frontier frontier = new Frontier(new int[] {s}, 1);
+        long[] frontierBits = null;
+        int reached = 1;
+        int level = 0;
+
+        while (frontier.size > 0) {
+            level++;
+
+            if (frontierBits == null && frontier.size > (n - reached) / ALPHA) {
+                frontierBits = toBits(frontier);
+            } else if (frontierBits != null && frontier.size < n / BETA) {
+                frontier = toList(frontierBits, frontier);
+                frontierBits = null;
+            }
+
+            if (frontierBits == null) {
+                TopDown sweep = new TopDown(frontier.vertices, 0, frontier.size, level);
+                frontier = frontier.size <= GRAIN ? sweep.compute() : pool.invoke(sweep);
+            } else {
+                long[] next = new long[frontierBits.length];
+                BottomUp sweep = new BottomUp(frontierBits, next, 0, frontierBits.length, level);
+                frontier = n <= GRAIN ? sweep.compute() : pool.invoke(sweep);
+                frontierBits = next;
+            }
+
+            reached += frontier.size;
+        }
+
+        return new BfsResult(s, distances, parents, reached);
+    }
+
+    private boolean claim(int v) {
+        int word = v >>> 6;
+        long bit = 1L << v;
+        long old;
+        do {
+            old = visited.get(word);
+            if ((old & bit) != 0) {
+                return false;
+            }
+        } while (!visited.compareAndSet(word, old, old | bit));
+        return true;
+    }
+
+    private long[] toBits(Frontier frontier) {
+        long[] bits = new long[visited.length()];
+        for (int i = 0; i < frontier.size; i++) {
+            int v = frontier.vertices[i];
+            bits[v >>> 6] |= 1L << v;
+        }
+        return bits;
+    }
+
+    private Frontier toList(long[] bits, Frontier frontier) {
+        int[] vertices = new int[frontier.size];
+        int size = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long w = bits[word]; w != 0; w &= w - 1) {
+                vertices[size++] = (word << 6) + Long.numberOfTrailingZeros(w);
+            }
+        }
+        return new Frontier(vertices, size);
+    }
+
+    /**
+     * The vertices of a frontier, bottom-up sweeps only count them.
+     */
+    private record Frontier(int[] vertices, int size) {
+
+        static Frontier concat(Frontier a, Frontier b) {
+            int[] vertices = Arrays.copyOf(a.vertices, a.size + b.size);
+            System.arraycopy(b.vertices, 0, vertices, a.size, b.size);
+            return new Frontier(vertices, a.size + b.size);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class TopDown extends RecursiveTask<Frontier> {
+
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private final int level;
+
+        TopDown(int[] frontier, int from, int to, int level) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.level = level;
+        }
+
+        @Override
+        protected Frontier compute() {
+            if (to - from > GRAIN) {
+                int mid = (from + to) >>> 1;
+                TopDown right = new TopDown(frontier, mid, to, level);
+                right.fork();
+                Frontier left = new TopDown(frontier, from, mid, level).compute();
+                return Frontier.concat(left, right.join());
+            }
+
+            int[] next = new int[Math.max(16, 2 * (to - from))];
+            int size = 0;
+
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int arc = g.arcsStart(u); arc < g.arcsEnd(u); arc++) {
+                    int v = g.target(arc);
+                    if (claim(v)) {
+                        distances[v] = level;
+                        parents[v] = u;
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, 2 * size);
+                        }
+                        next[size++] = v;
+                    }
+                }
+            }
+
+            return new Frontier(next, size);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class BottomUp extends RecursiveTask<Frontier> {
+
+        private final long[] frontier;
+        private final long[] next;
+        private final int fromWord;
+        private final int toWord;
+        private final int level;
+
+        BottomUp(long[] frontier, long[] next, int fromWord, int toWord, int level) {
+            this.frontier = frontier;
+            this.next = next;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+            this.level = level;
+        }
+
+        @Override
+        protected Frontier compute() {
+            if ((toWord - fromWord) * Long.SIZE > GRAIN) {
+                int mid = (fromWord + toWord) >>> 1;
+                BottomUp right = new BottomUp(frontier, next, mid, toWord, level);
+                right.fork();
+                Frontier left = new BottomUp(frontier, next, fromWord, mid, level).compute();
+                return new Frontier(null, left.size + right.join().size);
+            }
+
+            int size = 0;
+
+            for (int word = fromWord; word < toWord; word++) {
+                long unvisited = ~visited.get(word);
+                long found = 0;
+
+                for (long w = unvisited; w != 0; w &= w - 1) {
+                    int v = (word << 6) + Long.numberOfTrailingZeros(w);
+                    if (v >= n) {
+                        break;
+                    }
+                    for (int arc = incoming.arcsStart(v); arc < incoming.arcsEnd(v); arc++) {
+                        int u = incoming.target(arc);
+                        if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                            distances[v] = level;
+                            parents[v] = u;
+                            found |= 1L << v;
+                            size++;
+                            break;
+                        }
+                    }
+                }
+
+                if (found != 0) {
+                    // No other task writes this word during the sweep
+                    visited.set(word, visited.get(word) | found);
+                    next[word] = found;
+                }
+            }
+
+            return new Frontier(null, size);
+        }
+    }
+}
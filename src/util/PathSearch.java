@@ -0,0 +1,156 @@
+package src.util;
+
+import java.util.Arrays;
+
+import src.graph.edge.Edge;
+import src.graph.graph.interfaces.DirectedGraph;
+import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.CsrGraph;
+import src.graph.vertices.Vertex;
+import src.util.queues.BucketQueue;
+import src.util.queues.IndexedIntMinHeap;
+import src.util.queues.IntPriorityQueue;
+
+/**
+ * One direction of a point-to-point search, ordered by the distance from the source plus the
+ * estimate of a {@link Heuristic}. The search stops whenever its caller stops settling vertices.
+ * </p>
+ * Vertices are queued when they are reached for the first time, and their priority is decreased
+ * when a shorter path is found. Distances and priorities are {@code long}s, thus they can not overflow.
+ * </p>
+ * Searches without a heuristic on a {@link CsrGraph} with small non-negative weights queue the vertices
+ * in a {@link BucketQueue}, see {@link #queueFor(Graph)}, all others in an {@link IndexedIntMinHeap}.
+ * </p>
+ * The search follows the outgoing edges of directed graphs. Directed graphs only store the outgoing
+ * edges of a vertex, thus backward searches must run on {@link CsrGraph#reversed()}.
+ */
+final class PathSearch {
+
+    static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * The largest weight for which Dijkstras Algorithm uses a {@link BucketQueue}.
+     */
+    static final int MAX_BUCKET_WEIGHT = 1 << 10;
+
+    private final Graph g;
+    private final int target;
+    private final Heuristic heuristic;
+    private final IntPriorityQueue heap;
+
+    final long[] distances;
+    final int[] parents;
+    int settled = 0;
+
+    // The best path through a vertex reached by this and the opposite search
+    PathSearch opposite;
+    long best = INFINITY;
+    int meet = -1;
+
+    PathSearch(Graph g, int source, int target, Heuristic heuristic) {
+        this(g, source, target, heuristic, new IndexedIntMinHeap(g.sizeVertices()));
+    }
+
+    /**
+     * Creates a search without a heuristic, using the queue of {@link #queueFor(Graph)}.
+     */
+    PathSearch(Graph g, int source, int target) {
+        this(g, source, target, Heuristic.zero(), queueFor(g));
+    }
+
+    /**
+     * Creates a search without a heuristic, using the given empty queue.
+     */
+    PathSearch(Graph g, int source, int target, IntPriorityQueue heap) {
+        this(g, source, target, Heuristic.zero(), heap);
+    }
+
+    private PathSearch(Graph g, int source, int target, Heuristic heuristic, IntPriorityQueue heap) {
+        int n = g.sizeVertices();
+
+        this.g = g;
+        this.target = target;
+        this.heuristic = heuristic;
+        this.heap = heap;
+        this.distances = new long[n];
+        this.parents = new int[n];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(parents, -1);
+
+        distances[source] = 0;
+        heap.push(source, heuristic.estimate(source, target));
+    }
+
+    /**
+     * Chooses the queue for Dijkstras Algorithm on the graph. The weights of a {@link CsrGraph} are
+     * known up front, if they are non-negative and at most {@link #MAX_BUCKET_WEIGHT}, a {@link BucketQueue}
+     * with one bucket per possible weight is used. The weights of other graphs may change at any time,
+     * these always use an {@link IndexedIntMinHeap}, scanning them on every query would cost as much as
+     * the query itself. Callers that know the weights pass their own queue instead.
+     * @param g The graph to be searched
+     * @return An empty queue for the keys of all vertices
+     */
+    static IntPriorityQueue queueFor(Graph g) {
+        if (g instanceof CsrGraph csr && csr.minWeight() >= 0 && csr.maxWeight() <= MAX_BUCKET_WEIGHT) {
+            return new BucketQueue(g.sizeVertices(), csr.maxWeight() + 1);
+        }
+        return new IndexedIntMinHeap(g.sizeVertices());
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the distance of the next vertex to be settled.
+     */
+    long minDistance() {
+        return distances[heap.peek()];
+    }
+
+    /**
+     * Takes the next vertex from the queue and scans its edges.
+     * @return The key of the settled vertex
+     */
+    int settleNext() {
+        int u = heap.popMin();
+        settled++;
+
+        if (g instanceof CsrGraph csr) {
+            for (int arc = csr.arcsStart(u); arc < csr.arcsEnd(u); arc++) {
+                relax(u, csr.target(arc), csr.weight(arc));
+            }
+            return u;
+        }
+
+        boolean directed = g instanceof DirectedGraph;
+        Vertex vertex = g.parseVertex(u);
+        for (Edge e : vertex.edges()) {
+            if (!directed || e.start().getKey() == u) {
+                relax(u, e.getOther(vertex).getKey(), e.getWeight());
+            }
+        }
+        return u;
+    }
+
+    private void relax(int u, int v, int weight) {
+        long d = distances[u] + weight;
+
+        if (d < distances[v]) {
+            distances[v] = d;
+            parents[v] = u;
+            long priority = d + heuristic.estimate(v, target);
+            // Settled vertices are reopened, in case the heuristic is not consistent
+            if (heap.contains(v)) {
+                heap.decPrio(v, priority);
+            } else {
+                heap.push(v, priority);
+            }
+        }
+
+        if (opposite != null && opposite.distances[v] != INFINITY && distances[v] + opposite.distances[v] < best) {
+            best = distances[v] + opposite.distances[v];
+            meet = v;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package src.util;
+
+import java.util.List;
+
+import src.graph.vertices.Vertex;
+
+/**
+ * The result of a point-to-point search of {@link Graphs}.
+ * </p>
+ * The amount of settled vertices counts how often a vertex was taken from the queue and its edges
+ * were scanned. It measures the work done by the search and allows to compare the different searches.
+ *
+ * @param path The shortest path from s to t including s and t, an empty list if {@code s == t},
+ * or null if t can not be reached
+ * @param distance The sum of the weights along the path, or {@code -1} if t can not be reached
+ * @param settled The amount of settled vertices
+ */
+public record ShortestPath(List<Vertex> path, long distance, int settled) {
+
+    /**
+     * Returns whether a path was found.
+     * @return True if t can be reached from s
+     */
+    public boolean isFound() {
+        return path != null;
+    }
+}
@@ -0,0 +1,140 @@
+package src.util;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.directed.DirectedWeightedTree;
+import src.graph.vertices.Vertex;
+
+/**
+ * The shortest paths from one source to all vertices of a graph, as calculated by
+ * {@link Graphs#shortestPathTree(Graph, int)}. The tree is stored in two primitive arrays,
+ * the distance of every vertex from the source and the parent of every vertex on its shortest path.
+ * </p>
+ * Once calculated, the path to any target is extracted in time linear in the length of the path,
+ * thus many targets can be queried without searching the graph again. The tree refers to the
+ * vertices of the graph it was calculated on, and does not notice later changes of the graph.
+ */
+public final class ShortestPathTree {
+
+    private final Graph graph;
+    private final int source;
+    private final long[] distances;
+    private final int[] parents;
+    private final int[] order;
+
+    /**
+     * @param order The reachable vertices in the order they were settled, starting with the source
+     */
+    ShortestPathTree(Graph graph, int source, long[] distances, int[] parents, int[] order) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.parents = parents;
+        this.order = order;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the amount of vertices that can be reached from the source, including the source.
+     * @return The size of the tree
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * Checks whether a path from the source to the vertex exists.
+     * @param t The key of the vertex
+     * @return True if the vertex can be reached
+     */
+    public boolean isReachable(int t) {
+        return distances[t] != PathSearch.INFINITY;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the vertex.
+     * @param t The key of the vertex
+     * @return The sum of the weights along the path, or {@code -1} if the vertex can not be reached
+     */
+    public long distance(int t) {
+        return isReachable(t) ? distances[t] : -1;
+    }
+
+    /**
+     * Returns the predecessor of the vertex on its shortest path.
+     * @param t The key of the vertex
+     * @return The key of the parent, or {@code -1} for the source and all vertices that can not be reached
+     */
+    public int parent(int t) {
+        return parents[t];
+    }
+
+    /**
+     * Returns a copy of the distances of all vertices. Vertices that can not be reached
+     * have the distance {@link Long#MAX_VALUE}.
+     * @return An array indexed by the keys of the vertices
+     */
+    public long[] getDistances() {
+        return distances.clone();
+    }
+
+    /**
+     * Returns a copy of the parents of all vertices, see {@link #parent(int)}.
+     * @return An array indexed by the keys of the vertices
+     */
+    public int[] getParents() {
+        return parents.clone();
+    }
+
+    /**
+     * Extracts the shortest path from the source to the vertex.
+     * @param t The key of the target vertex
+     * @return The path including the source and t, an empty list if t is the source,
+     * or null if t can not be reached
+     */
+    public List<Vertex> path(int t) {
+        if (!isReachable(t)) {
+            return null;
+        }
+
+        LinkedList<Vertex> path = new LinkedList<>();
+        if (t == source) {
+            return path;
+        }
+
+        for (int v = t; v != -1; v = parents[v]) {
+            path.addFirst(graph.parseVertex(v));
+        }
+        return path;
+    }
+
+    /**
+     * Materializes the tree as a graph. The tree contains all vertices of the original graph with
+     * their values, rooted at the source. Every reachable vertex is connected to its parent by an
+     * edge weighing the difference of their distances, which is the weight of the original edge.
+     * </p>
+     * Building a {@link DirectedWeightedTree} is far more expensive than querying this tree directly.
+     * @return A new tree
+     */
+    public DirectedWeightedTree toTree() {
+        DirectedWeightedTree tree = new DirectedWeightedTree(graph.sizeVertices());
+        tree.setRoot(source);
+
+        for (int v = 0; v < graph.sizeVertices(); v++) {
+            tree.setValue(v, graph.getValue(v));
+        }
+
+        // Parents are settled before their children, thus every edge starts inside the tree
+        for (int i = 1; i < order.length; i++) {
+            int v = order[i];
+            tree.addEdge(parents[v], v, (int) (distances[v] - distances[parents[v]]));
+        }
+
+        return tree;
+    }
+}
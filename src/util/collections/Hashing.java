@@ -0,0 +1,58 @@
+package src.util.collections;
+
+/**
+ * The hash functions and table sizes shared by the open-addressing collections of this package.
+ * Tables have a capacity that is a power of two and are kept at most half full, thus probe
+ * sequences stay short.
+ */
+final class Hashing {
+
+    static final int MIN_CAPACITY = 8;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Spreads the bits of a key, such that consecutive keys do not fill consecutive slots.
+     */
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    /**
+     * Decides whether the entry in slot {@code j} moves back into the free slot {@code gap} while removing
+     * an entry with linear probing. It moves, unless its own slot {@code home} lies between the gap and
+     * itself, as it would no longer be found otherwise.
+     */
+    static boolean shiftsBack(int home, int gap, int j, int mask) {
+        return ((j - home) & mask) >= ((j - gap) & mask);
+    }
+
+    /**
+     * Returns the smallest table capacity that holds the given amount of keys.
+     */
+    static int capacityFor(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (expected > MAX_CAPACITY >> 1) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, 2 * expected - 1)) << 1);
+    }
+
+    static int grow(int capacity) {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Collection exceeds the maximum capacity.");
+        }
+        return capacity << 1;
+    }
+}
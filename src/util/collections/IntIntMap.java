@@ -0,0 +1,166 @@
+package src.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code int} keys to {@code int} values in an open-addressing table with linear probing.
+ * Keys and values are stored unboxed in two parallel arrays, thus neither lookups nor insertions allocate.
+ * </p>
+ * A free slot holds the key {@code 0}, thus the key {@code 0} itself is kept outside of the table.
+ * Removing a key shifts the following entries of its probe sequence back, no tombstones are left behind.
+ */
+public final class IntIntMap {
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+    private int zeroValue;
+
+    /**
+     * Creates a new empty map.
+     */
+    public IntIntMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty map that holds the given amount of keys without growing.
+     * @param expected The expected amount of keys
+     */
+    public IntIntMap(int expected) {
+        int capacity = Hashing.capacityFor(expected);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the value of a key.
+     * @param key The key
+     * @param defaultValue The value returned if the key is not contained
+     * @return The value of the key, or the default value
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZero ? zeroValue : defaultValue;
+        }
+
+        int i = slot(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Returns whether the key is contained in the map.
+     * @param key The key
+     * @return True if the key is contained
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZero : keys[slot(key)] == key;
+    }
+
+    /**
+     * Maps the key to the value, replacing its previous value.
+     * @param key The key
+     * @param value The value
+     * @return True if the key was not yet contained
+     */
+    public boolean put(int key, int value) {
+        if (key == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            zeroValue = value;
+            size += added ? 1 : 0;
+            return added;
+        }
+
+        int i = slot(key);
+        values[i] = value;
+        if (keys[i] == key) {
+            return false;
+        }
+
+        keys[i] = key;
+        if (++size > keys.length >> 1) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    /**
+     * Removes a key from the map.
+     * @param key The key
+     * @return True if the key was contained
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean removed = hasZero;
+            hasZero = false;
+            size -= removed ? 1 : 0;
+            return removed;
+        }
+
+        int i = slot(key);
+        if (keys[i] != key) {
+            return false;
+        }
+
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            if (Hashing.shiftsBack(Hashing.mix(keys[j]) & mask, gap, j, mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all keys, the capacity is kept.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * Returns the slot holding the key, or the free slot ending its probe sequence.
+     */
+    private int slot(int key) {
+        int i = Hashing.mix(key) & mask;
+        while (keys[i] != key && keys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != 0) {
+                int i = slot(oldKeys[j]);
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
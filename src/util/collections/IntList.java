@@ -0,0 +1,114 @@
+package src.util.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable list of {@code int}s backed by a single array. Appending an element runs in amortized
+ * constant time and does not box it.
+ */
+public final class IntList {
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public IntList() {
+        this(Hashing.MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty list that holds the given amount of elements without growing.
+     * @param capacity The initial capacity
+     */
+    public IntList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.elements = new int[capacity];
+    }
+
+    /**
+     * Appends an element to the end of the list.
+     * @param e The element
+     */
+    public void add(int e) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(Hashing.MIN_CAPACITY, 2 * size));
+        }
+        elements[size++] = e;
+    }
+
+    /**
+     * Returns the element at the given index.
+     * @param index The index
+     * @return The element
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size
+     */
+    public int get(int index) {
+        return elements[Objects.checkIndex(index, size)];
+    }
+
+    /**
+     * Replaces the element at the given index.
+     * @param index The index
+     * @param e The new element
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size
+     */
+    public void set(int index, int e) {
+        elements[Objects.checkIndex(index, size)] = e;
+    }
+
+    /**
+     * Adds a value to the element at the given index.
+     * @param index The index
+     * @param delta The value to be added
+     * @return The new element
+     * @throws IndexOutOfBoundsException If the index is negative or not less than the size
+     */
+    public int increment(int index, int delta) {
+        return elements[Objects.checkIndex(index, size)] += delta;
+    }
+
+    /**
+     * Removes and returns the last element.
+     * @return The last element
+     * @throws IndexOutOfBoundsException If the list is empty
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("List is empty.");
+        }
+        return elements[--size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements, the capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the elements in a new array.
+     * @return An array of length {@link #size()}
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
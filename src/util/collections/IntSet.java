@@ -0,0 +1,294 @@
+package src.util.collections;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A set of {@code int}s in an open-addressing table with linear probing. The keys are stored
+ * unboxed, adding a key neither allocates an entry nor a boxed {@link Integer}.
+ * </p>
+ * The set is a {@link java.util.Set Set&lt;Integer&gt;}, thus it can be passed wherever such a set is
+ * expected, e.g. by the rulesets of the {@link src.algorithms.wfca.WaveFunctionCollapse}. The methods
+ * taking an {@code int} avoid boxing, as does the {@link PrimitiveIterator.OfInt} returned by
+ * {@link #iterator()}. The iteration order is unspecified.
+ * </p>
+ * A free slot holds the key {@code 0}, thus the key {@code 0} itself is kept outside of the table.
+ * Removing a key shifts the following keys of its probe sequence back, no tombstones are left behind.
+ */
+public final class IntSet extends AbstractSet<Integer> {
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private boolean hasZero;
+
+    /**
+     * Creates a new empty set.
+     */
+    public IntSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a new empty set that holds the given amount of keys without growing.
+     * @param expected The expected amount of keys
+     */
+    public IntSet(int expected) {
+        int capacity = Hashing.capacityFor(expected);
+        this.keys = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Creates a new set containing all given integers.
+     * @param c The integers to be added
+     */
+    public IntSet(Collection<Integer> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    /**
+     * Creates a new set containing the given keys.
+     * @param keys The keys to be added
+     * @return A new set
+     */
+    public static IntSet of(int... keys) {
+        IntSet set = new IntSet(keys.length);
+        for (int key : keys) {
+            set.add(key);
+        }
+        return set;
+    }
+
+    /**
+     * Adds a key to the set.
+     * @param key The key
+     * @return True if the key was not yet contained
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+
+        int i = Hashing.mix(key) & mask;
+        for (int k = keys[i]; k != 0; k = keys[i]) {
+            if (k == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        if (++size > keys.length >> 1) {
+            rehash(Hashing.grow(keys.length));
+        }
+        return true;
+    }
+
+    @Override
+    public boolean add(Integer key) {
+        return add(key.intValue());
+    }
+
+    /**
+     * Returns whether the key is contained in the set.
+     * @param key The key
+     * @return True if the key is contained
+     */
+    public boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+
+        for (int i = Hashing.mix(key) & mask, k = keys[i]; k != 0; i = (i + 1) & mask, k = keys[i]) {
+            if (k == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer key && contains(key.intValue());
+    }
+
+    /**
+     * Removes a key from the set.
+     * @param key The key
+     * @return True if the key was contained
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+
+        int i = Hashing.mix(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+
+        removeAt(i);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Integer key && remove(key.intValue());
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Integer> filter) {
+        return removeMatching(filter::test);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (c instanceof IntSet other) {
+            return removeMatching(key -> !other.contains(key));
+        }
+        return removeMatching(key -> !c.contains(key));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c instanceof IntSet other) {
+            return removeMatching(other::contains);
+        }
+        return removeMatching(key -> c.contains(key));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * Returns all keys of the set in a new array, in the order of iteration.
+     * @return The keys
+     */
+    public int[] toIntArray() {
+        int[] result = new int[size];
+        int n = 0;
+
+        if (hasZero) {
+            result[n++] = 0;
+        }
+        for (int k : keys) {
+            if (k != 0) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+
+            // Slot -1 stands for the key 0
+            private int slot = hasZero ? -1 : advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < keys.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int key = slot == -1 ? 0 : keys[slot];
+                slot = advance(slot + 1);
+                return key;
+            }
+
+            private int advance(int from) {
+                int i = from;
+                while (i < keys.length && keys[i] == 0) {
+                    i++;
+                }
+                return i;
+            }
+        };
+    }
+
+    /**
+     * Removes all keys matching the filter in a single pass over the table. A removal may shift a
+     * key that was not tested yet into the current slot, thus the slot is tested again.
+     */
+    private boolean removeMatching(IntPredicate filter) {
+        boolean changed = false;
+
+        if (hasZero && filter.test(0)) {
+            hasZero = false;
+            size--;
+            changed = true;
+        }
+        for (int i = 0; i < keys.length;) {
+            if (keys[i] != 0 && filter.test(keys[i])) {
+                removeAt(i);
+                changed = true;
+            } else {
+                i++;
+            }
+        }
+        return changed;
+    }
+
+    private void removeAt(int slot) {
+        int gap = slot;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            if (Hashing.shiftsBack(Hashing.mix(keys[j]) & mask, gap, j, mask)) {
+                keys[gap] = keys[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = keys;
+
+        keys = new int[capacity];
+        mask = capacity - 1;
+
+        for (int k : old) {
+            if (k != 0) {
+                int i = Hashing.mix(k) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+            }
+        }
+    }
+}
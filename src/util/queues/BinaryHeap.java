@@ -11,13 +11,15 @@ import java.util.Set;
 public class BinaryHeap<T> implements PriorityQueue<T>, Iterable<T> {
 
     private final List<HeapNode> content = new ArrayList<>();
-    private final Map<T, Integer> index = new HashMap<>(); // This cant be changed due to decPrio
+    // Every node knows its position in the heap, swapping nodes does not touch the map
+    private final Map<T, HeapNode> index = new HashMap<>();
 
     @Override
     public boolean push(T x, int priority) {
-        content.add(new HeapNode(x, priority));
-        index.put(x, size() - 1);
-        bubbleUp(size() - 1);
+        HeapNode node = new HeapNode(x, priority, size());
+        content.add(node);
+        index.put(x, node);
+        bubbleUp(node.position);
 		return true;
     }
 
@@ -67,10 +69,10 @@ public class BinaryHeap<T> implements PriorityQueue<T>, Iterable<T> {
 
     private void swap(int v, int w) {
         HeapNode tmp = content.get(v);
-        index.replace(content.get(v).getValue(), w);
-        index.replace(content.get(w).getValue(), v);
         content.set(v, content.get(w));
         content.set(w, tmp);
+        content.get(v).position = v;
+        tmp.position = w;
     }
 
     private void bubbleUp(int v) {
@@ -100,11 +102,11 @@ public class BinaryHeap<T> implements PriorityQueue<T>, Iterable<T> {
 
     @Override
     public void decPrio(T v, int prio) {
-        Integer i = index.get(v);
-        if (i == null) {
+        HeapNode n = index.get(v);
+        if (n == null) {
             return;
         }
-        HeapNode n = content.get(i);
+        int i = n.position;
 
         long oldPrio = n.getPrio();
         n.setPrio(prio);
@@ -120,10 +122,12 @@ public class BinaryHeap<T> implements PriorityQueue<T>, Iterable<T> {
 
         private final T value;
         private long priority;
+        private int position;
 
-        public HeapNode(T value, int priority) {
+        public HeapNode(T value, int priority, int position) {
             this.value = value;
             this.priority = priority;
+            this.position = position;
         }
 
         public T getValue() {
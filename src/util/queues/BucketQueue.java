@@ -0,0 +1,226 @@
+package src.util.queues;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A bucket queue over the integers {@code 0} to {@code capacity - 1} for small integer priorities,
+ * also known as Dial's queue.
+ * </p>
+ * Every priority has its own bucket, a doubly linked list stored in primitive arrays, thus pushing
+ * an element and changing its priority run in constant time. The buckets are used circularly:
+ * the queue only holds {@code range} buckets and all queued priorities must lie within a window of
+ * {@code range} consecutive values, starting at the smallest queued priority. Removing the minimum
+ * scans the buckets from the last removed priority onwards, which in total takes time linear in
+ * the difference between the first and the last removed priority.
+ * </p>
+ * This fits two kinds of priorities:
+ * <ul>
+ * <li>Dijkstras Algorithm with integer weights from {@code 0} to {@code w} and a range of {@code w + 1},
+ * as every queued distance is at most {@code w} larger than the last settled one.</li>
+ * <li>Priorities bounded by a constant, e.g. the entropy of tiles bounded by the amount of tiles.
+ * Any priority from {@code 0} to {@code range - 1} may then be pushed at any time.</li>
+ * </ul>
+ * Elements of equal priority are popped in the reverse order of their insertion.
+ */
+public class BucketQueue implements IntPriorityQueue {
+
+    private static final int NOT_QUEUED = -2;
+
+    private final int[] heads;
+    private final int[] next;
+    private final int[] previous;
+    private final long[] prio;
+    private final int range;
+    private long cursor;
+    private long max;
+    private int size;
+
+    /**
+     * Creates a new empty queue that can hold the elements {@code 0} to {@code capacity - 1}.
+     * @param capacity The amount of possible elements
+     * @param range The amount of buckets, all queued priorities must lie within a window of this size
+     */
+    public BucketQueue(int capacity, int range) {
+        if (capacity < 0 || range < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        this.range = range;
+        this.heads = new int[range];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.prio = new long[capacity];
+        Arrays.fill(heads, -1);
+        Arrays.fill(previous, NOT_QUEUED);
+    }
+
+    @Override
+    public boolean push(int e, int priority) {
+        return push(e, (long) priority);
+    }
+
+    /**
+     * Adds an element to the queue.
+     * @param e The element to be added
+     * @param priority The priority of the element
+     * @return Returns true on successful call, false if the element is already queued
+     * @throws IllegalArgumentException If the priority lies beyond the window of the queue
+     */
+    @Override
+    public boolean push(int e, long priority) {
+        if (previous[e] != NOT_QUEUED) {
+            return false;
+        }
+
+        moveCursor(priority);
+        prio[e] = priority;
+        link(e);
+        size++;
+        return true;
+    }
+
+    @Override
+    public int popMin() {
+        int min = peek();
+        unlink(min);
+        size--;
+        return min;
+    }
+
+    @Override
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        int bucket = bucket(cursor);
+        while (heads[bucket] == -1) {
+            cursor++;
+            bucket = bucket + 1 == range ? 0 : bucket + 1;
+        }
+        return heads[bucket];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void decPrio(int e, int priority) {
+        decPrio(e, (long) priority);
+    }
+
+    /**
+     * Changes the priority of the given element in the queue, the priority may also increase.
+     * Does nothing if the element is not queued.
+     * @param e The element
+     * @param priority The new priority
+     * @throws IllegalArgumentException If the priority lies beyond the window of the queue
+     */
+    @Override
+    public void decPrio(int e, long priority) {
+        if (previous[e] == NOT_QUEUED) {
+            return;
+        }
+
+        unlink(e);
+        size--;
+        push(e, priority);
+    }
+
+    @Override
+    public boolean contains(int e) {
+        return previous[e] != NOT_QUEUED;
+    }
+
+    /**
+     * Returns the current priority of an element. The result is undefined if the element is not queued.
+     * @param e The element
+     * @return The priority
+     */
+    public long prioOf(int e) {
+        return prio[e];
+    }
+
+    @Override
+    public void clear() {
+        for (int bucket = 0; bucket < range && size > 0; bucket++) {
+            for (int e = heads[bucket]; e != -1; e = next[e]) {
+                previous[e] = NOT_QUEUED;
+                size--;
+            }
+            heads[bucket] = -1;
+        }
+        size = 0;
+    }
+
+    private void moveCursor(long priority) {
+        if (size == 0) {
+            cursor = priority;
+            max = priority;
+            return;
+        }
+
+        if (priority < cursor) {
+            // The largest queued priority must stay in the window that now starts at the new priority
+            if (max - priority >= range && lastQueued() - priority >= range) {
+                throw new IllegalArgumentException("Priority %d lies %d buckets or more below the queued priority %d."
+                    .formatted(priority, range, max));
+            }
+            cursor = priority;
+        } else if (priority - cursor >= range) {
+            throw new IllegalArgumentException("Priority %d exceeds the window of %d buckets starting at %d."
+                .formatted(priority, range, cursor));
+        }
+        max = Math.max(max, priority);
+    }
+
+    /**
+     * Tightens {@code max}, which is only an upper bound once elements were removed, to the largest
+     * queued priority by scanning the buckets downwards from it.
+     */
+    private long lastQueued() {
+        while (max > cursor && heads[bucket(max)] == -1) {
+            max--;
+        }
+        return max;
+    }
+
+    private int bucket(long priority) {
+        return (int) Math.floorMod(priority, (long) range);
+    }
+
+    private void link(int e) {
+        int bucket = bucket(prio[e]);
+        int head = heads[bucket];
+
+        next[e] = head;
+        previous[e] = -1;
+        if (head != -1) {
+            previous[head] = e;
+        }
+        heads[bucket] = e;
+    }
+
+    private void unlink(int e) {
+        int p = previous[e];
+        int n = next[e];
+
+        if (p == -1) {
+            heads[bucket(prio[e])] = n;
+        } else {
+            next[p] = n;
+        }
+        if (n != -1) {
+            previous[n] = p;
+        }
+        previous[e] = NOT_QUEUED;
+    }
+}
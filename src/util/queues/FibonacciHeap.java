@@ -1,41 +1,49 @@
 package src.util.queues;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-
+/**
+ * A Fibonacci Heap. Pushing an element and decreasing its priority run in constant amortized time,
+ * removing the minimum runs in amortized logarithmic time.
+ * </p>
+ * The roots and the children of every node are kept in circular doubly linked lists, thus a node is
+ * cut from its parent or moved into the root list in constant time. Removing the minimum moves its
+ * children into the root list and then links roots of equal degree until all degrees are distinct,
+ * using an array indexed by the degree. A node loses at most one child before it is cut from its own
+ * parent, which bounds the degree of every node by {@code log_phi(size)}, thus the array never
+ * needs more than {@link #MAX_DEGREE} slots. Nothing is allocated besides the node of every element.
+ */
 public class FibonacciHeap<T> implements PriorityQueue<T> {
-    
-    private Map<T, Node> contents = new HashMap<>();
-    private Node root;
-    private Node min;
+
+    // log_phi(2^31) < 45, the degree of a node can not exceed this bound while consolidating
+    private static final int MAX_DEGREE = 48;
+
+    private final Map<T, Node<T>> contents = new HashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Node<T>[] degrees = new Node[MAX_DEGREE];
+    private Node<T> min;
     private int size;
 
     public FibonacciHeap() {
         size = 0;
         min = null;
-        root = null;
     }
 
     @Override
     public T peek() {
-        return min.value;
+        return min == null ? null : min.value;
     }
 
     @Override
     public boolean push(T x, int prio) {
-        Node node = new Node(x, prio);
+        Node<T> node = new Node<>(x, prio);
         contents.put(x, node);
-        node.left = node;
-        node.right = node;
 
-        mergeToRoot(node);
-
-        if (min == null || node.prio < min.prio) {
+        addRoot(node);
+        if (node.prio < min.prio) {
             min = node;
         }
 
@@ -45,43 +53,49 @@ public class FibonacciHeap<T> implements PriorityQueue<T> {
 
     @Override
     public T popMin() {
-        Node p = min;
+        Node<T> z = min;
 
-        if (p == null) {
+        if (z == null) {
             return null;
         }
 
-        if (p.hasChild()) {
-            for (Node c : p.children()) {
+        // Children become roots
+        Node<T> child = z.child;
+        if (child != null) {
+            Node<T> c = child;
+            do {
                 c.parent = null;
-                cut(c, p);
-            }
+                c.mark = false;
+                c = c.right;
+            } while (c != child);
+            splice(z, child);
+            z.child = null;
         }
 
-        removeFromRoot(p);
+        Node<T> next = z.right;
+        unlink(z);
 
-        if (p.right.key == p.key) {
+        if (next == z) {
             min = null;
-            root = null;
         } else {
-            min = p.right;
+            min = next;
             consolidate();
         }
-        
+
         size--;
-        contents.remove(p.value);
-        return p.value;
+        contents.remove(z.value);
+        return z.value;
     }
 
     @Override
     public void decPrio(T x, int prio) {
-        Node node = contents.get(x);
-        if (node == null) { return; }
-        if (prio >= node.prio) {
+        Node<T> node = contents.get(x);
+        if (node == null || prio >= node.prio) {
             return;
         }
+
         node.prio = prio;
-        Node parent = node.parent;
+        Node<T> parent = node.parent;
         if (parent != null && node.prio < parent.prio) {
             cut(node, parent);
             cascadingCut(parent);
@@ -92,128 +106,123 @@ public class FibonacciHeap<T> implements PriorityQueue<T> {
     }
 
     /**
-     * Cuts the child off of the tree into the root list, the child will carry all its children
-     * @param child The child to be cut from its parent
-     * @param parent The parent
+     * Links roots of equal degree until all roots have distinct degrees, then searches the new minimum.
      */
-    private void cut(Node child, Node parent) {
-        unlinkChild(child, parent);
-        parent.degree--;
-        mergeToRoot(child);
-        child.mark = false;
-    }
+    private void consolidate() {
+        int roots = 0;
+        Node<T> w = min;
+        do {
+            roots++;
+            w = w.right;
+        } while (w != min);
+
+        for (int i = 0; i < roots; i++) {
+            // Linking only removes roots that were already visited
+            Node<T> next = w.right;
+            Node<T> x = w;
+            int d = x.degree;
+            while (degrees[d] != null) {
+                Node<T> y = degrees[d];
+                if (y.prio < x.prio) {
+                    Node<T> swap = x;
+                    x = y;
+                    y = swap;
+                }
+                link(y, x);
+                degrees[d] = null;
+                d++;
+            }
+            degrees[d] = x;
+            w = next;
+        }
 
-    private void unlinkChild(Node child, Node parent) {
-        if (child.right.key == child.key) { // Last child left
-            parent.child = null;
-        } else if (child.key == parent.child.key) { // If first child
-            parent.child = child.right;
+        min = null;
+        for (int d = 0; d < MAX_DEGREE; d++) {
+            Node<T> root = degrees[d];
+            if (root != null) {
+                if (min == null || root.prio < min.prio) {
+                    min = root;
+                }
+                degrees[d] = null;
+            }
         }
-        child.left.right = child.right;
-        child.right.left = child.left;
-        child.left = child;
-        child.right = child;
-        child.parent = null;
     }
 
-    private void cascadingCut(Node node) {
-        Node parent = node.parent;
-        if (parent == null) {
-            return;
-        }
-        if (!node.mark) {
-            node.mark = true;
+    /**
+     * Removes the root y from the root list and makes it a child of the root x.
+     */
+    private void link(Node<T> y, Node<T> x) {
+        unlink(y);
+        y.left = y.right = y;
+        if (x.child == null) {
+            x.child = y;
         } else {
-            cut(node, parent);
-            cascadingCut(parent);
+            splice(x.child, y);
         }
+        x.degree++;
+        y.parent = x;
+        y.mark = false;
     }
 
-    private void mergeToRoot(Node node) {
-        node.left = node.right = node;
-        if (root == null) {
-            root = node;
+    /**
+     * Cuts the child off of the tree into the root list, the child will carry all its children.
+     * @param child The child to be cut from its parent
+     * @param parent The parent
+     */
+    private void cut(Node<T> child, Node<T> parent) {
+        if (child.right == child) {
+            parent.child = null;
         } else {
-            node.right = root;
-            node.left = root.left;
-            root.left.right = node;
-            root.left = node;
+            if (parent.child == child) {
+                parent.child = child.right;
+            }
+            unlink(child);
         }
-    }
+        parent.degree--;
 
-    private void removeFromRoot(Node node) {
-        if (node.key == root.key) {
-            root = node.getRight();
-        }
-        node.getLeft().setRight(node.getRight());
-        node.getRight().setLeft(node.getLeft());
+        child.parent = null;
+        child.mark = false;
+        child.left = child.right = child;
+        addRoot(child);
     }
 
-    private void consolidate() {
-        List<Node> arr = new ArrayList<>();
-        for (int i = 0; i < (int) Math.log(size) * 2 + 1; i++) {
-            arr.add(null);
-        }
-        List<Node> nodes = rootList();
-        for (int i = 0; i < nodes.size(); i++) {
-            Node x = nodes.get(i);
-            int d = x.degree;
-            while (arr.get(d) != null) {
-                Node y = arr.get(d);
-                if (x.prio > y.prio) {
-                    x = arr.get(d);
-                    y = nodes.get(i);
-                }
-                linkChild(y, x);
-                arr.set(d, null);
-                d++;
-            }
-            arr.set(d, x);
-        }
-
-        // for (Node v : rootList()) {
-        //     if (v.prio < min.prio) {
-        //         min = v;
-        //     }
-        // }
-        for (int i = 0; i < arr.size(); i++) {
-            if (arr.get(i) != null && arr.get(i).prio < min.prio) {
-                min = arr.get(i);
+    private void cascadingCut(Node<T> node) {
+        Node<T> parent = node.parent;
+        while (parent != null) {
+            if (!node.mark) {
+                node.mark = true;
+                return;
             }
+            cut(node, parent);
+            node = parent;
+            parent = node.parent;
         }
     }
 
-    private void linkChild(Node child, Node parent) {
-        removeFromRoot(child);
-        child.left = child.right = child;
-        mergeWithChildList(parent, child);
-        parent.degree++;
-        child.parent = parent;
-        child.mark = false;
-    }
-
-    private void mergeWithChildList(Node parent, Node child) {
-        if (parent.child == null) {
-            parent.child = child;
-            child.setLeft(child);
-            child.setRight(child);
+    private void addRoot(Node<T> node) {
+        if (min == null) {
+            node.left = node.right = node;
+            min = node;
         } else {
-            child.setRight(parent.child);
-            child.setLeft(parent.child.getLeft());
-            parent.child.getLeft().setRight(child);
-            parent.child.setLeft(child);
+            splice(min, node);
         }
     }
 
-    private List<Node> rootList() {
-        Node v = root.right;
-        List<Node> nodes = new ArrayList<>();
-        nodes.add(root);
-        while (v.key != root.key) {
-            nodes.add(v);
-            v = v.right;
-        }
-        return nodes;
+    /**
+     * Inserts the circular list starting at b into the circular list of a, behind a.
+     */
+    private void splice(Node<T> a, Node<T> b) {
+        Node<T> aRight = a.right;
+        Node<T> bLeft = b.left;
+        a.right = b;
+        b.left = a;
+        bLeft.right = aRight;
+        aRight.left = bLeft;
+    }
+
+    private void unlink(Node<T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
     }
 
     @Override
@@ -231,65 +240,28 @@ public class FibonacciHeap<T> implements PriorityQueue<T> {
         return Collections.unmodifiableSet(contents.keySet());
     }
 
-    private class Node {
-        private static int nextKey = 0;
-        private final int key;
+    private static final class Node<T> {
+
         private final T value;
         private long prio;
         private int degree;
         private boolean mark;
-    
-        private Node parent;
-        private Node child;
-        private Node left;
-        private Node right;
-    
-        public Node(T value, int prio) {
-            this.value = value;
-            this.key = nextKey;
-            this.prio = prio;
-            degree = 0;
-            nextKey++;
-        }
-    
-        public List<Node> children() {
-            Node curr = this.child.right;
-
-            List<Node> nodes = new ArrayList<>();
 
-            nodes.add(this.child);
-            
-            while(curr.key != this.child.key) {
-                nodes.add(curr);
-                curr = curr.right;
-            }
-
-            return nodes;
-        }
+        private Node<T> parent;
+        private Node<T> child;
+        private Node<T> left;
+        private Node<T> right;
 
-        public Node getLeft() {
-            return left;
-        }
-
-        public Node getRight() {
-            return right;
-        }
-
-        public void setLeft(Node v) {
-            left = v;
-        }
-
-        public void setRight(Node v) {
-            right = v;
-        }
-    
-        public boolean hasChild() {
-            return child != null;
+        Node(T value, int prio) {
+            this.value = value;
+            this.prio = prio;
+            this.left = this;
+            this.right = this;
         }
 
         @Override
         public String toString() {
-            return "Key=" + key + " Val=" + value.toString();
+            return "Prio=" + prio + " Val=" + value;
         }
     }
 }
@@ -1,195 +1,153 @@
 package src.util.queues;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * A Pairing Heap. Pushing an element and decreasing its priority run in constant time, removing
+ * the minimum runs in amortized logarithmic time.
+ * </p>
+ * The heap is a single tree, every node keeps its first child and its next sibling. Decreasing
+ * the priority cuts the subtree of the node and melds it with the root. Removing the minimum melds
+ * the children of the root in two passes, first pairwise from left to right and then from right to left
+ * into a single tree. The pairs are held in a buffer that is reused by every removal.
+ * </p>
+ * Pairing Heaps do less work per operation than {@link FibonacciHeap}s and are usually faster in practice.
+ */
 public class Heap<T> implements PriorityQueue<T> {
-    
-    private final Map<T, Node> contents = new HashMap<>();
+
+    private final Map<T, Node<T>> contents = new HashMap<>();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<T>[] pairs = new Node[16];
     private int size;
-    private Node min;
-    private Node root;
+    private Node<T> root;
 
     public Heap() {
-        min = root = null;
+        root = null;
         size = 0;
     }
 
+    @Override
     public T peek() {
-        return min.value;
+        return root == null ? null : root.value;
     }
 
+    @Override
     public boolean push(T x, int prio) {
-        Node node = new Node(x, prio);
+        Node<T> node = new Node<>(x, prio);
         contents.put(x, node);
-        node.left = node;
-        node.right = node;
-
-        mergeWithRootList(node);
-
-        if (min == null || node.prio < min.prio) {
-            min = node;
-        }
+        root = meld(root, node);
 
         size++;
         return true;
     }
 
-    private void mergeWithRootList(Node node) {
-        if (root == null) {
-            root = node;
-            return;
-        }
-        node.right = root;
-        node.left = root.left;
-        root.left.right = node;
-        root.left = node;
-    }
-
+    @Override
     public T popMin() {
-        Node z = min;
+        Node<T> z = root;
 
         if (z == null) {
             return null;
         }
 
-        if (z.child != null) {
-            List<Node> children = iterate(z.child);
-            for (Node c : children) {
-                mergeWithRootList(c);
-                c.parent = null;
-            }
-        }
-
-        removeFromRootList(z);
-
-        if (z == z.right) {
-            min = null;
-            root = null;
-        } else {
-            min = z.right;
-            consolidate();
-        }
+        root = mergePairs(z.child);
 
         contents.remove(z.value);
         size--;
         return z.value;
     }
 
-    private List<Node> iterate(Node node) {
-        List<Node> list = new ArrayList<>();
-        Node curr = node;
-        do {
-            list.add(curr);
-            curr = curr.right;
-        } while (curr != node);
-
-        return list;
-    }
+    @Override
+    public void decPrio(T x, int prio) {
+        Node<T> node = contents.get(x);
 
-    private void consolidate() {
-        List<Node> arr = new ArrayList<>();
-        for (int i = 0; i < Math.log(size) * 2 + 1; i++) {
-            arr.add(null);
+        if (node == null || prio >= node.prio) {
+            return;
         }
+        node.prio = prio;
 
-        List<Node> nodes = iterate(root);
-
-        for (int i = 0; i < arr.size(); i++) {
-            Node x = nodes.get(i);
-            int d = x.degree;
-            while (arr.get(d) != null) {
-                Node y = arr.get(d);
-                if (x.prio > y.prio) {
-                    y = nodes.get(i);
-                    x = arr.get(d);
-                }
-                link(y, x);
-                arr.set(d, null);
-                d++;
-            }
-            arr.set(d, x);
+        if (node == root) {
+            return;
         }
 
-        for (Node v : arr) {
-            if (v != null && v.prio < min.prio) {
-                min = v;
-            }
+        // The previous node is either the parent or the left sibling
+        if (node.previous.child == node) {
+            node.previous.child = node.next;
+        } else {
+            node.previous.next = node.next;
         }
-    }
+        if (node.next != null) {
+            node.next.previous = node.previous;
+        }
+        node.next = null;
+        node.previous = null;
 
-    private void link(Node y, Node x) {
-        removeFromRootList(y);
-        y.left = y.right = y;
-        mergeWithChildList(x, y);
-        x.degree++;
-        y.parent = x;
-        y.mark = false;
+        root = meld(root, node);
     }
 
-    private void mergeWithChildList(Node parent, Node node) {
-        if (parent.child == null) {
-            parent.child = node;
-            return;
+    /**
+     * Melds two trees, the root with the larger priority becomes the first child of the other root.
+     */
+    private Node<T> meld(Node<T> a, Node<T> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (b.prio < a.prio) {
+            Node<T> swap = a;
+            a = b;
+            b = swap;
         }
-        node.left = parent.child.left;
-        node.right = parent.child;
-        parent.child.left.right = node;
-        parent.child.left = node;
-    }
 
-    private void removeFromRootList(Node node) {
-        if (node == root) {
-            root = node.right;
+        b.previous = a;
+        b.next = a.child;
+        if (a.child != null) {
+            a.child.previous = b;
         }
-        node.left.right = node.right;
-        node.right.left = node.left;
+        a.child = b;
+        a.next = null;
+        a.previous = null;
+        return a;
     }
 
-    public void decPrio(T x, int prio) {
-        Node node = contents.get(x);
+    /**
+     * Melds a list of siblings into a single tree.
+     */
+    private Node<T> mergePairs(Node<T> first) {
+        int count = 0;
+        Node<T> curr = first;
+        while (curr != null) {
+            Node<T> a = curr;
+            Node<T> b = a.next;
+            curr = b == null ? null : b.next;
 
-        if (node == null || prio > node.prio) {
-            return;
-        }
-        node.prio = prio;
-        Node parent = node.parent;
-        if (parent != null && node.prio < parent.prio) {
-            cut(node, parent);
-            cascadingCut(parent);
-        }
-        if (node.prio < min.prio) {
-            min = node;
-        }
-    }
+            a.next = a.previous = null;
+            if (b != null) {
+                b.next = b.previous = null;
+            }
 
-    private void cut(Node x, Node y) {
-        removeFromChildList(y, x);
-        y.degree--;
-        mergeWithRootList(x);
-        x.parent = null;
-        x.mark = false;
-    }
-    
-    private void cascadingCut(Node y) {
-        Node z = y.parent;
-        if (z == null) {
-            return;
+            if (count == pairs.length) {
+                pairs = Arrays.copyOf(pairs, 2 * count);
+            }
+            pairs[count++] = meld(a, b);
         }
-        if (!y.mark) {
-            y.mark = true;
-        } else {
-            cut(y, z);
-            cascadingCut(z);
+
+        Node<T> tree = null;
+        for (int i = count - 1; i >= 0; i--) {
+            tree = meld(pairs[i], tree);
+            pairs[i] = null;
         }
+        return tree;
     }
 
     @Override
     public boolean isEmpty() {
-        return min == null;
+        return root == null;
     }
 
     @Override
@@ -199,37 +157,21 @@ public class Heap<T> implements PriorityQueue<T> {
 
     @Override
     public Set<T> contents() {
-        return contents.keySet();
-    }
-
-    private void removeFromChildList(Node parent, Node node) {
-        if (parent.child == parent.child.right) {
-            parent.child = null;
-        } else if (parent.child == node) {
-            parent.child = node.right;
-        }
-        node.left.right = node.right;
-        node.right.left = node.left;
+        return Collections.unmodifiableSet(contents.keySet());
     }
 
-    private class Node {
+    private static final class Node<T> {
 
-        private T value;
+        private final T value;
         private long prio;
-        private int degree;
-        private boolean mark;
 
-        private Node parent;
-        private Node child;
-        private Node left;
-        private Node right;
+        private Node<T> child;
+        private Node<T> next;
+        private Node<T> previous;
 
-        public Node(T value, long prio) {
+        Node(T value, int prio) {
             this.value = value;
             this.prio = prio;
-            degree = 0;
-            mark = false;
         }
     }
-
 }
@@ -0,0 +1,200 @@
+package src.util.queues;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A binary min-heap over the integers {@code 0} to {@code capacity - 1}, e.g. the keys of the vertices of a graph.
+ * </p>
+ * The heap is stored in three primitive arrays: the heap itself, the position of every element inside the heap
+ * and the priority of every element. Thus no operation boxes or hashes, and decreasing a priority runs in O(log n).
+ * </p>
+ * Elements are ordered exactly like in {@link BinaryHeap}, meaning both heaps pop equal priorities in the same order.
+ * </p>
+ * Priorities are stored as {@code long}s. Besides the {@code int} priorities of {@link IntPriorityQueue},
+ * elements can be pushed with {@code long} priorities, e.g. distances that do not fit into an {@code int}.
+ */
+public class IndexedIntMinHeap implements IntPriorityQueue {
+
+    private final int[] heap;
+    private final int[] pos;
+    private final long[] prio;
+    private int size;
+
+    /**
+     * Creates a new empty heap that can hold the elements {@code 0} to {@code capacity - 1}.
+     * @param capacity The amount of possible elements
+     */
+    public IndexedIntMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.heap = new int[capacity];
+        this.pos = new int[capacity];
+        this.prio = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    @Override
+    public boolean push(int e, int priority) {
+        return push(e, (long) priority);
+    }
+
+    /**
+     * Adds an element to the queue.
+     * @param e The element to be added
+     * @param priority The priority of the element
+     * @return Returns true on successful call, false if the element is already queued
+     */
+    @Override
+    public boolean push(int e, long priority) {
+        if (pos[e] != -1) {
+            return false;
+        }
+
+        prio[e] = priority;
+        heap[size] = e;
+        pos[e] = size;
+        size++;
+        bubbleUp(size - 1);
+        return true;
+    }
+
+    @Override
+    public int popMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        int min = heap[0];
+        pos[min] = -1;
+        size--;
+
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            sinkDown(0);
+        }
+
+        return min;
+    }
+
+    @Override
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void decPrio(int e, int priority) {
+        decPrio(e, (long) priority);
+    }
+
+    /**
+     * Changes the priority of the given element in the queue, the priority may also increase.
+     * Does nothing if the element is not queued.
+     * @param e The element
+     * @param priority The new priority
+     */
+    @Override
+    public void decPrio(int e, long priority) {
+        int i = pos[e];
+        if (i == -1) {
+            return;
+        }
+
+        long oldPrio = prio[e];
+        prio[e] = priority;
+
+        if (priority < oldPrio) {
+            bubbleUp(i);
+        } else {
+            sinkDown(i);
+        }
+    }
+
+    @Override
+    public boolean contains(int e) {
+        return pos[e] != -1;
+    }
+
+    /**
+     * Returns the current priority of an element. The result is undefined if the element is not queued.
+     * @param e The element
+     * @return The priority
+     */
+    public long prioOf(int e) {
+        return prio[e];
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void bubbleUp(int v) {
+        int e = heap[v];
+        long p = prio[e];
+
+        while (v != 0) {
+            int parent = (v - 1) / 2;
+            int u = heap[parent];
+            if (p >= prio[u]) {
+                break;
+            }
+            heap[v] = u;
+            pos[u] = v;
+            v = parent;
+        }
+
+        heap[v] = e;
+        pos[e] = v;
+    }
+
+    private void sinkDown(int v) {
+        int e = heap[v];
+        long p = prio[e];
+
+        while (true) {
+            int uL = 2 * v + 1;
+            int uR = uL + 1;
+            int u = v;
+            long min = p;
+
+            if (uL < size && prio[heap[uL]] < min) {
+                u = uL;
+                min = prio[heap[uL]];
+            }
+            if (uR < size && prio[heap[uR]] < min) {
+                u = uR;
+            }
+            if (u == v) {
+                break;
+            }
+
+            heap[v] = heap[u];
+            pos[heap[v]] = v;
+            v = u;
+        }
+
+        heap[v] = e;
+        pos[e] = v;
+    }
+}
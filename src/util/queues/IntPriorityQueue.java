@@ -0,0 +1,84 @@
+package src.util.queues;
+
+/**
+ * A priority queue over primitive integer elements. This is the unboxed counterpart of
+ * {@link PriorityQueue}, intended for elements that are keys of vertices.
+ * @see PriorityQueue
+ */
+public interface IntPriorityQueue {
+
+    /**
+     * Adds an element to the queue.
+     * @param e The element to be added
+     * @param prio The priority of the element
+     * @return Returns true on successful call, false if the element is already queued
+     */
+    boolean push(int e, int prio);
+
+    /**
+     * Adds an element with a {@code long} priority to the queue, e.g. a distance that does not fit into an
+     * {@code int}. Queues that only store {@code int} priorities throw an {@link ArithmeticException}
+     * if the priority overflows.
+     * @param e The element to be added
+     * @param prio The priority of the element
+     * @return Returns true on successful call, false if the element is already queued
+     */
+    default boolean push(int e, long prio) {
+        return push(e, Math.toIntExact(prio));
+    }
+
+    /**
+     * Removes and retrieves the head of the queue.
+     * @return The element with the smallest priority from this queue.
+     */
+    int popMin();
+
+    /**
+     * Returns the head of the queue without removing it. This will not affect
+     * the internal order of the queue.
+     * @return The element with the lowest priority
+     */
+    int peek();
+
+    /**
+     * Returns whether the queue is empty.
+     * @return True if queue is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the current amount of elements inside the queue.
+     * @return the size of the queue
+     */
+    int size();
+
+    /**
+     * Decreases the priority of the given element in the queue.
+     * Does nothing if the element is not queued.
+     * @param e The element to reduce the priority of.
+     * @param prio The priority
+     */
+    void decPrio(int e, int prio);
+
+    /**
+     * Decreases the priority of the given element in the queue to a {@code long} priority,
+     * see {@link #push(int, long)}.
+     * @param e The element to reduce the priority of.
+     * @param prio The priority
+     */
+    default void decPrio(int e, long prio) {
+        decPrio(e, Math.toIntExact(prio));
+    }
+
+    /**
+     * Checks whether the element is currently queued.
+     * @param e The element
+     * @return True if the element is queued
+     */
+    boolean contains(int e);
+
+    /**
+     * Removes all elements from the queue.
+     */
+    void clear();
+}
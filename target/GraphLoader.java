@@ -4,12 +4,14 @@ import java.io.IOException;
 import java.util.List;
 
 import src.graph.graph.interfaces.Graph;
+import src.graph.graph.models.CsrGraph;
 import src.graph.graph.models.directed.DirectedLinkedGraph;
 import src.graph.graph.models.directed.DirectedWeightedLinkedGraph;
 import src.graph.graph.models.directed.DirectedWeightedTree;
 import src.graph.graph.models.undirected.LinkedMesh2D;
 import src.graph.graph.models.undirected.Mesh2D;
 import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.ImplicitMesh2D;
 import src.graph.graph.models.undirected.UndirectedLinkedGraph;
 import src.graph.graph.models.undirected.UndirectedTree;
 import src.graph.graph.models.undirected.UndirectedWeightedLinkedGraph;
@@ -75,6 +77,38 @@ public class GraphLoader {
         return graph;
     }
 
+    /**
+     * Loads a graph file directly into a frozen {@link CsrGraph} without building a linked graph first.
+     * Trees are built as linked graphs and copied afterwards, as their invariants need to be checked on insertion.
+     * @param fileName The name of the file inside the graph folder
+     * @return A frozen graph
+     * @throws IOException If the file could not be read
+     */
+    public CsrGraph loadCsrFromFile(String fileName) throws IOException {
+        List<String> specs = fileLoader.loadGraph(fileName);
+        String[] specifications = specs.get(0).split(";");
+        int size = Integer.parseInt(specifications[2]);
+        String directed = specifications[0];
+
+        if (!directed.equals("u") && !directed.equals("d")) {
+            return CsrGraph.of(loadFromFile(fileName));
+        }
+
+        int count = specs.size() - 1;
+        int[] a = new int[count];
+        int[] b = new int[count];
+        int[] w = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            String[] parts = specs.get(i + 1).split(ARG_SPLITTER, -1);
+            a[i] = Integer.parseInt(parts[0]);
+            b[i] = Integer.parseInt(parts[1]);
+            w[i] = parts.length == 3 && !specifications[1].equals("u") ? Integer.parseInt(parts[2]) : 1;
+        }
+
+        return CsrGraph.fromEdges(size, a, b, w, count, directed.equals("d"));
+    }
+
     /**
      * Returns a quadratic mesh where adjacent vertices are connected
      * @param size The length of one side of the quadrat
@@ -84,6 +118,10 @@ public class GraphLoader {
         return new ArrayMesh2D(width, height);
     }
 
+    public ImplicitMesh2D implicitMesh2D(int width, int height) {
+        return new ImplicitMesh2D(width, height);
+    }
+
     public Mesh2D mesh2D(int size) {
         return arrayMesh2D(size, size);
     }
@@ -93,15 +131,7 @@ public class GraphLoader {
     }
 
     public ArrayMesh2D zylinder(int width, int height) {
-        ArrayMesh2D graph = arrayMesh2D(width, height);
-
-        graph.setMeshType(MeshType.ZYLINDER);
-
-        for (int i = 0; i < height; i++) {
-            graph.addEdge(i * width, i * width + width - 1);
-        }
-
-        return graph;
+        return new ArrayMesh2D(width, height, MeshType.ZYLINDER);
     }
 
     public ArrayMesh2D zylinder(int size) {
@@ -109,14 +139,7 @@ public class GraphLoader {
     }
 
     public ArrayMesh2D donut(int width, int height) {
-        ArrayMesh2D graph = zylinder(width, height);
-        graph.setMeshType(MeshType.DONUT);
-
-        for (int i = 0; i < width; i++) {
-            graph.addEdge(i, height * width - width + i);
-        }
-
-        return graph;
+        return new ArrayMesh2D(width, height, MeshType.DONUT);
     }
 
     public ArrayMesh2D donut(int size) {
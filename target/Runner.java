@@ -56,7 +56,10 @@ public class Runner {
             WaveFunctionCollapse wfc = new WaveFunctionCollapse(graph, ruleset, SEED);
             graphRenderer = new GraphRenderer(wfc);
             algorithms.add(wfc);
-            wfc.setRenderer(graphRenderer);
+            if (GUI_OUTPUT) {
+                wfc.setRenderer(graphRenderer);
+            }
+            wfc.setAnimated(ANIMATED_OUTPUT);
             threads.add(new Thread(wfc));
         }
 
@@ -0,0 +1,123 @@
+package target.test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import src.util.collections.IntIntMap;
+import src.util.collections.IntList;
+import src.util.collections.IntSet;
+import src.util.collections.LongIntMap;
+
+public class TestCollections {
+
+    @Test
+    public void testIntList() {
+        IntList list = new IntList(0);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * i);
+        }
+
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals(81, list.get(9));
+        list.set(9, -1);
+        Assert.assertEquals(1, list.increment(9, 2));
+        Assert.assertEquals(999 * 999, list.removeLast());
+        Assert.assertEquals(999, list.toArray().length);
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> list.get(999));
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertThrows(IndexOutOfBoundsException.class, list::removeLast);
+    }
+
+    @Test
+    public void testIntSet() {
+        Random rnd = new Random(1);
+        Set<Integer> reference = new HashSet<>();
+        IntSet set = new IntSet();
+
+        // Small keys collide often, and include the key 0 that is kept outside of the table
+        for (int op = 0; op < 200000; op++) {
+            int key = rnd.nextInt(2000) - 1000;
+            switch (rnd.nextInt(3)) {
+                case 0 -> Assert.assertEquals(reference.add(key), set.add(key));
+                case 1 -> Assert.assertEquals(reference.remove(key), set.remove(key));
+                default -> Assert.assertEquals(reference.contains(key), set.contains(key));
+            }
+            Assert.assertEquals(reference.size(), set.size());
+        }
+        Assert.assertEquals(reference, set);
+
+        Set<Integer> iterated = new HashSet<>();
+        for (PrimitiveIterator.OfInt it = set.iterator(); it.hasNext();) {
+            Assert.assertTrue(iterated.add(it.nextInt()));
+        }
+        Assert.assertEquals(reference, iterated);
+
+        IntSet even = new IntSet(set);
+        even.removeIf(key -> key % 2 != 0);
+        reference.removeIf(key -> key % 2 != 0);
+        Assert.assertEquals(reference, even);
+
+        Assert.assertTrue(set.retainAll(IntSet.of(0, 2, 4, 6, 1001)));
+        reference.retainAll(Set.of(0, 2, 4, 6, 1001));
+        Assert.assertEquals(reference, set);
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.iterator().hasNext());
+    }
+
+    @Test
+    public void testIntIntMap() {
+        Random rnd = new Random(2);
+        Map<Integer, Integer> reference = new HashMap<>();
+        IntIntMap map = new IntIntMap();
+
+        for (int op = 0; op < 200000; op++) {
+            int key = rnd.nextInt(4000) - 2000;
+            switch (rnd.nextInt(3)) {
+                case 0 -> Assert.assertEquals(reference.put(key, op) == null, map.put(key, op));
+                case 1 -> Assert.assertEquals(reference.remove(key) != null, map.remove(key));
+                default -> Assert.assertEquals(reference.getOrDefault(key, -1).intValue(), map.getOrDefault(key, -1));
+            }
+            Assert.assertEquals(reference.size(), map.size());
+        }
+        for (int key = -2000; key < 2000; key++) {
+            Assert.assertEquals(reference.containsKey(key), map.containsKey(key));
+            Assert.assertEquals(reference.getOrDefault(key, -1).intValue(), map.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    public void testLongIntMap() {
+        Random rnd = new Random(3);
+        Map<Long, Integer> reference = new HashMap<>();
+        LongIntMap map = new LongIntMap(16);
+
+        for (int op = 0; op < 200000; op++) {
+            // Packed pairs of small keys, like the edges of a graph
+            long key = (long) rnd.nextInt(60) << 32 | rnd.nextInt(60);
+            switch (rnd.nextInt(3)) {
+                case 0 -> Assert.assertEquals(reference.put(key, op) == null, map.put(key, op));
+                case 1 -> Assert.assertEquals(reference.remove(key) != null, map.remove(key));
+                default -> Assert.assertEquals(reference.getOrDefault(key, -1).intValue(), map.getOrDefault(key, -1));
+            }
+            Assert.assertEquals(reference.size(), map.size());
+        }
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            Assert.assertEquals(entry.getValue().intValue(), map.getOrDefault(entry.getKey(), -1));
+        }
+
+        map.clear();
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertEquals(0, map.size());
+    }
+}
@@ -1,20 +1,44 @@
 package target.test;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import src.graph.edge.Edge;
+import src.graph.graph.abstracts.ArrayGraph.Layout;
 import src.graph.graph.interfaces.Graph;
 import src.graph.graph.interfaces.Tree;
+import src.graph.graph.models.CsrGraph;
+import src.graph.graph.models.directed.DirectedWeightedLinkedGraph;
+import src.graph.graph.models.directed.LazyDirectedGraph;
+import src.graph.graph.models.undirected.ArrayMesh2D;
+import src.graph.graph.models.undirected.Direction;
+import src.graph.graph.models.undirected.ImplicitMesh2D;
+import src.graph.graph.models.undirected.Mesh2D;
+import src.graph.graph.models.undirected.Mesh2D.MeshType;
+import src.graph.graph.models.undirected.UndirectedArrayGraph;
 import src.graph.graph.models.undirected.UndirectedLinkedGraph;
 import src.graph.graph.models.undirected.UndirectedTree;
+import src.graph.graph.models.undirected.UndirectedWeightedArrayGraph;
 import src.graph.graph.models.undirected.UndirectedWeightedLinkedGraph;
 import src.graph.vertices.Vertex;
+import src.util.BfsResult;
+import src.util.Components;
 import src.util.Graphs;
+import src.util.ShortestPath;
+import src.util.ShortestPathTree;
+import src.util.queues.BucketQueue;
+import src.util.queues.IndexedIntMinHeap;
 import target.GraphLoader;
 
 public class TestGraphs {
@@ -90,6 +114,353 @@ public class TestGraphs {
         Assert.assertEquals(path, Graphs.dijkstra(g, 0, 424));
     }
 
+    @Test
+    public void testDijkstraIndexedHeap() throws IOException {
+        Graph g = graphLoader.loadFromFile("Graph2.dat");
+
+        Assert.assertEquals(Graphs.dijkstra(g, 0, 424), Graphs.dijkstra(g, 0, 424, new IndexedIntMinHeap(g.sizeVertices())));
+    }
+
+    @Test
+    public void testDijkstraLargeWeights() {
+        Graph graph = new UndirectedWeightedLinkedGraph(4);
+        graph.addEdge(0, 1, 1_000_000_000);
+        graph.addEdge(1, 2, 1_000_000_000);
+        graph.addEdge(0, 2, Integer.MAX_VALUE);
+        graph.addEdge(2, 3, Integer.MAX_VALUE);
+
+        List<Vertex> path = new LinkedList<>();
+        path.add(graph.parseVertex(0));
+        path.add(graph.parseVertex(1));
+        path.add(graph.parseVertex(2));
+        path.add(graph.parseVertex(3));
+
+        Assert.assertEquals(path, Graphs.dijkstra(graph, 0, 3));
+        Assert.assertEquals(2_000_000_000L + Integer.MAX_VALUE, Graphs.shortestPath(graph, 0, 3).distance());
+        Assert.assertEquals(path, Graphs.dijkstra(graph, 0, 3, new IndexedIntMinHeap(4)));
+        CsrGraph csr = CsrGraph.of(graph);
+        Assert.assertEquals(Graphs.dijkstra(csr, 0, 3), Graphs.dijkstra(csr, 0, 3, new IndexedIntMinHeap(4)));
+
+        // A distance of exactly Integer.MAX_VALUE is reachable
+        Graph single = new UndirectedWeightedLinkedGraph(2);
+        single.addEdge(0, 1, Integer.MAX_VALUE);
+        Assert.assertEquals(2, Graphs.dijkstra(single, 0, 1, new IndexedIntMinHeap(2)).size());
+    }
+
+    @Test
+    public void testDijkstraBucketQueue() {
+        Random rnd = new Random(11);
+        int n = 2000;
+        Graph linked = new DirectedWeightedLinkedGraph(n);
+        for (int i = 0; i < 4 * n; i++) {
+            int u = rnd.nextInt(n);
+            int v = rnd.nextInt(n);
+            if (u != v && linked.parseEdge(u, v) == null) {
+                linked.addEdge(u, v, rnd.nextInt(8));
+            }
+        }
+
+        // The weights of a CsrGraph are known, small ones are queued in buckets instead of a heap
+        CsrGraph csr = CsrGraph.of(linked);
+        Assert.assertEquals(0, csr.minWeight());
+        Assert.assertEquals(7, csr.maxWeight());
+
+        ShortestPathTree heap = Graphs.shortestPathTree(linked, 0);
+        ShortestPathTree buckets = Graphs.shortestPathTree(csr, 0);
+        for (int t = 0; t < n; t++) {
+            Assert.assertEquals(heap.distance(t), buckets.distance(t));
+        }
+        for (int t = 1; t < n; t += 97) {
+            Assert.assertEquals(heap.distance(t), Graphs.shortestPath(csr, 0, t).distance());
+            Assert.assertEquals(heap.distance(t), Graphs.bidirectionalDijkstra(csr, 0, t).distance());
+        }
+
+        // The weights of other graphs are only known to the caller
+        BucketQueue queue = new BucketQueue(n, 8);
+        for (int t = 1; t < n; t += 97) {
+            Assert.assertEquals(heap.distance(t), Graphs.shortestPath(linked, 0, t, queue).distance());
+            Assert.assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void testPointToPoint() throws IOException {
+        Graph g = graphLoader.loadFromFile("Graph2.dat");
+        CsrGraph csr = CsrGraph.of(g);
+
+        for (int t : new int[] {424, 17, 299}) {
+            long distance = weight(g, Graphs.dijkstra(g, 0, t));
+            ShortestPath path = Graphs.shortestPath(g, 0, t);
+            ShortestPath bidirectional = Graphs.bidirectionalDijkstra(g, 0, t);
+
+            Assert.assertEquals(distance, path.distance());
+            Assert.assertEquals(distance, weight(g, path.path()));
+            Assert.assertEquals(distance, bidirectional.distance());
+            Assert.assertEquals(distance, weight(g, bidirectional.path()));
+            Assert.assertEquals(distance, Graphs.bidirectionalDijkstra(csr, 0, t).distance());
+        }
+
+        Graph directed = new DirectedWeightedLinkedGraph(4);
+        directed.addEdge(0, 1, 5);
+        directed.addEdge(1, 3, 1);
+        directed.addEdge(0, 2, 1);
+        directed.addEdge(3, 2, 1);
+        Assert.assertEquals(6, Graphs.bidirectionalDijkstra(directed, 0, 3).distance());
+        Assert.assertEquals(6, Graphs.bidirectionalDijkstra(CsrGraph.of(directed), 0, 3).distance());
+        Assert.assertFalse(Graphs.shortestPath(directed, 3, 0).isFound());
+        Assert.assertFalse(Graphs.bidirectionalDijkstra(directed, 3, 0).isFound());
+
+        ArrayMesh2D mesh = graphLoader.donut(50);
+        int s = 0;
+        int t = 25 * 50 + 20;
+        ShortestPath dijkstra = Graphs.shortestPath(mesh, s, t);
+        ShortestPath aStar = Graphs.aStar(mesh, s, t);
+        ShortestPath bidirectional = Graphs.bidirectionalDijkstra(mesh, s, t);
+
+        Assert.assertEquals(45, dijkstra.distance());
+        Assert.assertEquals(45, aStar.distance());
+        Assert.assertEquals(45, bidirectional.distance());
+        Assert.assertTrue(aStar.settled() < dijkstra.settled());
+        Assert.assertTrue(bidirectional.settled() < dijkstra.settled());
+    }
+
+    @Test
+    public void testShortestPathTree() throws IOException {
+        Graph g = graphLoader.loadFromFile("Graph2.dat");
+        ShortestPathTree tree = Graphs.shortestPathTree(g, 0);
+
+        Assert.assertEquals(0, tree.distance(0));
+        Assert.assertTrue(tree.path(0).isEmpty());
+        Assert.assertEquals(Graphs.dijkstra(g, 0, 424), tree.path(424));
+
+        for (int t : new int[] {17, 299, 424}) {
+            Assert.assertEquals(Graphs.shortestPath(g, 0, t).distance(), tree.distance(t));
+            Assert.assertEquals(tree.distance(t), weight(g, tree.path(t)));
+        }
+
+        Tree materialized = tree.toTree();
+        Assert.assertEquals(0, materialized.getRoot().getKey());
+        Assert.assertEquals(tree.size() - 1, materialized.sizeEdges());
+        Assert.assertEquals(tree.path(424).size(), materialized.pathToRoot(424).size());
+
+        Graph directed = new DirectedWeightedLinkedGraph(3);
+        directed.addEdge(1, 0, 1);
+        directed.addEdge(1, 2, 1);
+        ShortestPathTree partial = Graphs.shortestPathTree(directed, 1);
+        Assert.assertEquals(3, partial.size());
+        Assert.assertFalse(Graphs.shortestPathTree(directed, 0).isReachable(2));
+        Assert.assertNull(Graphs.shortestPathTree(directed, 0).path(2));
+
+        // A negative weight would settle 2 twice, first via 0 and again via 1
+        Graph negative = new DirectedWeightedLinkedGraph(3);
+        negative.addEdge(0, 1, 10);
+        negative.addEdge(0, 2, 1);
+        negative.addEdge(1, 2, -20);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Graphs.shortestPathTree(negative, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Graphs.shortestPathTree(CsrGraph.of(negative), 0));
+    }
+
+    @Test
+    public void testDistanceMatrix() throws IOException {
+        Graph g = graphLoader.loadFromFile("Graph2.dat");
+        int[] landmarks = {0, 17, 92, 299, 424};
+
+        long[][] distances = Graphs.distanceMatrix(g, landmarks, landmarks, 3);
+        long[][] hops = Graphs.hopMatrix(g, landmarks, landmarks, 2);
+        for (int i = 0; i < landmarks.length; i++) {
+            ShortestPathTree tree = Graphs.shortestPathTree(g, landmarks[i]);
+            for (int j = 0; j < landmarks.length; j++) {
+                Assert.assertEquals(tree.distance(landmarks[j]), distances[i][j]);
+                Assert.assertEquals(i == j ? 0 : Graphs.bfs(g, landmarks[i], landmarks[j]).size() - 1, hops[i][j]);
+            }
+        }
+
+        UndirectedWeightedArrayGraph dense = new UndirectedWeightedArrayGraph(6);
+        dense.addEdge(0, 1, 4);
+        dense.addEdge(0, 2, 1);
+        dense.addEdge(2, 1, 2);
+        dense.addEdge(1, 3, 5);
+        dense.addEdge(3, 4, 3);
+        int[] all = {0, 1, 2, 3, 4, 5};
+        long[][] floydWarshall = Graphs.floydWarshall(dense);
+        Assert.assertArrayEquals(Graphs.distanceMatrix(dense, all, all), floydWarshall);
+        Assert.assertEquals(11, floydWarshall[0][4]);
+        Assert.assertEquals(-1, floydWarshall[0][5]);
+
+        // 2 is settled via 0 before the negative edge from 1 is seen
+        Graph negative = new DirectedWeightedLinkedGraph(3);
+        negative.addEdge(0, 1, 10);
+        negative.addEdge(0, 2, 1);
+        negative.addEdge(1, 2, -20);
+        int[] keys = {0, 1, 2};
+        Assert.assertThrows(IllegalArgumentException.class, () -> Graphs.distanceMatrix(negative, keys, keys));
+        Assert.assertEquals(1, Graphs.hopMatrix(negative, keys, keys)[0][2]);
+
+        dense.addEdge(4, 5, -1);
+        Assert.assertThrows(IllegalArgumentException.class, () -> Graphs.floydWarshall(dense));
+    }
+
+    @Test
+    public void testMst() {
+        Random random = new Random(17);
+        UndirectedWeightedArrayGraph dense = new UndirectedWeightedArrayGraph(60, Layout.DENSE);
+        UndirectedWeightedLinkedGraph sparse = new UndirectedWeightedLinkedGraph(60);
+        for (int i = 0; i < 60; i++) {
+            for (int j = i + 1; j < 60; j++) {
+                // Vertex 59 stays isolated
+                if (j < 59 && random.nextInt(4) == 0) {
+                    int w = random.nextInt(50) - 10;
+                    dense.addEdge(i, j, w);
+                    sparse.addEdge(i, j, w);
+                }
+            }
+        }
+
+        Tree kruskal = Graphs.mst(sparse);
+        Tree csr = Graphs.mst(CsrGraph.of(sparse));
+        Tree prim = Graphs.primMst(dense);
+        Assert.assertEquals(58, kruskal.sizeEdges());
+        Assert.assertEquals(58, csr.sizeEdges());
+        Assert.assertEquals(58, prim.sizeEdges());
+        Assert.assertEquals(weight(kruskal.edges()), weight(csr.edges()));
+        Assert.assertEquals(weight(kruskal.edges()), weight(prim.edges()));
+
+        // The heaviest edge of a path is part of its tree
+        Graph path = new UndirectedWeightedLinkedGraph(3);
+        path.addEdge(0, 1, 1);
+        path.addEdge(1, 2, 9);
+        Assert.assertEquals(10, weight(Graphs.mst(path).edges()));
+
+        // The parallel sort orders negative weights first, the same as the radix sort
+        Graph mixed = new UndirectedWeightedLinkedGraph(5000);
+        for (int i = 0; i < 40000; i++) {
+            mixed.addEdge(random.nextInt(5000), random.nextInt(5000), random.nextInt(2001) - 1000);
+        }
+        Tree radix = Graphs.mst(mixed, 1);
+        Tree parallel = Graphs.mst(mixed, 4);
+        Assert.assertEquals(radix.edges(), parallel.edges());
+        Assert.assertEquals(weight(Graphs.mst(CsrGraph.of(mixed)).edges()), weight(parallel.edges()));
+    }
+
+    @Test
+    public void testParallelBfs() {
+        for (Graph g : new Graph[] {graphLoader.donut(200), graphLoader.rnd(150), exampleGraph()}) {
+            int[] all = new int[g.sizeVertices()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            long[] expected = Graphs.hopMatrix(g, new int[] {1}, all, 1)[0];
+
+            for (int threads : new int[] {1, 4}) {
+                BfsResult bfs = Graphs.parallelBfs(g, 1, threads);
+                for (int v = 0; v < all.length; v++) {
+                    Assert.assertEquals(expected[v], bfs.distances()[v]);
+                    if (v != 1 && bfs.distances()[v] != -1) {
+                        int parent = bfs.parents()[v];
+                        Assert.assertEquals(bfs.distances()[v] - 1, bfs.distances()[parent]);
+                        Assert.assertNotNull(g.parseEdge(parent, v));
+                    }
+                }
+            }
+        }
+
+        UndirectedLinkedGraph split = new UndirectedLinkedGraph(3);
+        split.addEdge(0, 1);
+        Assert.assertTrue(Graphs.isCoherent(graphLoader.donut(100)));
+        Assert.assertFalse(Graphs.isCoherent(split));
+    }
+
+    private static long weight(List<Edge> edges) {
+        return edges.stream().mapToLong(Edge::getWeight).sum();
+    }
+
+    private static long weight(Graph g, List<Vertex> path) {
+        long weight = 0;
+        for (int i = 1; i < path.size(); i++) {
+            weight += g.weightOf(path.get(i - 1).getKey(), path.get(i).getKey());
+        }
+        return weight;
+    }
+
+    @Test
+    public void testConnectedComponents() {
+        Graph split = new UndirectedLinkedGraph(7);
+        split.addEdge(0, 4);
+        split.addEdge(4, 2);
+        split.addEdge(1, 5);
+        split.addEdge(6, 6);
+
+        for (int threads : new int[] {1, 4}) {
+            Components components = Graphs.connectedComponents(split, threads);
+            Assert.assertArrayEquals(new int[] {0, 1, 0, 2, 0, 1, 3}, components.labels());
+            Assert.assertArrayEquals(new int[] {3, 2, 1, 1}, components.sizes());
+
+            Graph rnd = graphLoader.rnd(150);
+            Components rndComponents = Graphs.connectedComponents(rnd, threads);
+            BfsResult bfs = Graphs.parallelBfs(rnd, 0, 1);
+            for (int v = 0; v < rnd.sizeVertices(); v++) {
+                Assert.assertEquals(bfs.distances()[v] != -1, rndComponents.label(v) == 0);
+            }
+            Assert.assertEquals(bfs.reached(), rndComponents.sizeOf(0));
+        }
+    }
+
+    @Test
+    public void testRegions() {
+        for (MeshType meshType : MeshType.values()) {
+            ArrayMesh2D mesh = new ArrayMesh2D(50, 40, meshType);
+            Random random = new Random(meshType.ordinal());
+            for (int v = 0; v < mesh.sizeVertices(); v++) {
+                mesh.setValue(v, random.nextInt(3));
+            }
+
+            int[] expected = floodFill(mesh);
+            for (int threads : new int[] {1, 4}) {
+                Assert.assertArrayEquals(expected, Graphs.regions(mesh, value -> value, threads).labels());
+            }
+        }
+
+        // Water in the first and last column, land in between
+        ArrayMesh2D mesh = graphLoader.zylinder(6, 4);
+        for (int v = 0; v < mesh.sizeVertices(); v++) {
+            mesh.setValue(v, v % 6 == 0 || v % 6 == 5 ? 0 : 7);
+        }
+        mesh.setValue(8, 3);
+        Assert.assertEquals(2, Graphs.regions(mesh, value -> value == 0 ? 0 : 1).count());
+
+        Components regions = Graphs.regions(mesh);
+        Assert.assertEquals(3, regions.count());
+        Assert.assertEquals(1, regions.sizeOf(8));
+        Assert.assertEquals(8, regions.sizeOf(0));
+    }
+
+    private static int[] floodFill(Mesh2D mesh) {
+        int[] labels = new int[mesh.sizeVertices()];
+        Arrays.fill(labels, -1);
+        int count = 0;
+
+        for (int s = 0; s < labels.length; s++) {
+            if (labels[s] != -1) {
+                continue;
+            }
+            labels[s] = count;
+            Deque<Integer> stack = new ArrayDeque<>(List.of(s));
+            while (!stack.isEmpty()) {
+                int u = stack.pop();
+                for (Direction direction : Direction.values()) {
+                    int v = mesh.neighbour(u, direction);
+                    if (v != -1 && labels[v] == -1 && mesh.getValue(v) == mesh.getValue(u)) {
+                        labels[v] = count;
+                        stack.push(v);
+                    }
+                }
+            }
+            count++;
+        }
+
+        return labels;
+    }
+
     @Test
     public void testBFS() {
         Graph graph = exampleGraph();
@@ -103,6 +474,236 @@ public class TestGraphs {
         Assert.assertEquals(path, Graphs.bfs(graph, 2, 9));
     }
 
+    @Test
+    public void testParseEdge() {
+        Graph undirected = new UndirectedWeightedLinkedGraph(3000);
+        Graph directed = new DirectedWeightedLinkedGraph(3000);
+        for (int v = 1; v < 3000; v++) {
+            undirected.addEdge(v / 2, v, v);
+            directed.addEdge(v / 2, v, v);
+        }
+
+        for (int v = 1; v < 3000; v++) {
+            Assert.assertEquals(v, undirected.weightOf(v / 2, v));
+            Assert.assertEquals(v, undirected.weightOf(v, v / 2));
+            Assert.assertEquals(v, directed.weightOf(v / 2, v));
+            Assert.assertSame(undirected.parseEdge(v, v / 2), undirected.parseEdge(v / 2, v));
+            if (v > 1) {
+                Assert.assertNull(directed.parseEdge(v, v / 2));
+            }
+        }
+        Assert.assertNull(undirected.parseEdge(0, 5));
+        Assert.assertNull(undirected.parseEdge(0, 3000));
+
+        // Removing an edge indexes a parallel one in its place
+        undirected.addEdge(1, 0, 7);
+        undirected.removeEdge(0, 1);
+        Assert.assertEquals(7, undirected.weightOf(0, 1));
+        undirected.removeEdge(1, 0);
+        Assert.assertNull(undirected.parseEdge(0, 1));
+        Assert.assertEquals(2, undirected.weightOf(1, 2));
+
+        directed.addEdge(3, 1, 5);
+        directed.removeEdge(1, 3);
+        Assert.assertNull(directed.parseEdge(1, 3));
+        Assert.assertEquals(5, directed.weightOf(3, 1));
+    }
+
+    @Test
+    public void testVertexStore() {
+        Graph graph = new UndirectedLinkedGraph(100);
+        List<Vertex> vertices = graph.vertices();
+        for (int key = 0; key < 100; key++) {
+            Assert.assertEquals(key, graph.parseVertex(key).getKey());
+            Assert.assertSame(graph.parseVertex(key), vertices.get(key));
+        }
+        Assert.assertNull(graph.parseVertex(-1));
+        Assert.assertNull(graph.parseVertex(100));
+
+        // The view is not a copy
+        graph.addVertex();
+        Assert.assertEquals(101, vertices.size());
+        Assert.assertSame(graph.parseVertex(100), vertices.get(100));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> vertices.remove(0));
+
+        // Keys added out of order, some of them landing on the position of another key
+        Graph lazy = new LazyDirectedGraph(7);
+        int[] keys = {7, -3, 2, 1 << 20, 0, 4, 3};
+        for (int i = 1; i < keys.length; i++) {
+            lazy.addEdge(keys[i - 1], keys[i]);
+        }
+        Assert.assertEquals(keys.length, lazy.sizeVertices());
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(keys[i], lazy.parseVertex(keys[i]).getKey());
+            Assert.assertEquals(keys[i], lazy.vertices().get(i).getKey());
+        }
+        Assert.assertNull(lazy.parseVertex(1));
+        Assert.assertNull(lazy.parseVertex(5));
+    }
+
+    @Test
+    public void testArrayGraphLayouts() {
+        Random rnd = new Random(23);
+        UndirectedWeightedArrayGraph sparse = new UndirectedWeightedArrayGraph(50);
+        UndirectedWeightedArrayGraph dense = new UndirectedWeightedArrayGraph(50, Layout.DENSE);
+        Assert.assertEquals(Layout.SPARSE, sparse.layout());
+
+        for (int op = 0; op < 5000; op++) {
+            // Both layouts grow past their initial capacity
+            if (op % 100 == 0) {
+                sparse.addVertex();
+                dense.addVertex();
+            }
+            int a = rnd.nextInt(sparse.sizeVertices());
+            int b = rnd.nextInt(sparse.sizeVertices());
+            if (rnd.nextInt(3) == 0) {
+                sparse.removeEdge(a, b);
+                dense.removeEdge(a, b);
+            } else {
+                int w = rnd.nextInt(10);
+                Assert.assertEquals(dense.addEdge(a, b, w), sparse.addEdge(a, b, w));
+            }
+        }
+
+        Assert.assertEquals(100, sparse.sizeVertices());
+        Assert.assertEquals(dense.sizeEdges(), sparse.sizeEdges());
+        Assert.assertEquals(dense.sizeEdges(), sparse.edges().size());
+        for (int a = 0; a < 100; a++) {
+            Assert.assertEquals(new HashSet<>(dense.neighbours(a)), new HashSet<>(sparse.neighbours(a)));
+            Assert.assertEquals(new HashSet<>(dense.parseVertex(a).neighbours()), new HashSet<>(sparse.neighbours(a)));
+            for (int b = 0; b < 100; b++) {
+                Edge e = sparse.parseEdge(a, b);
+                Assert.assertSame(e, sparse.parseEdge(b, a));
+                Assert.assertEquals(dense.parseEdge(a, b) == null, e == null);
+                if (e != null) {
+                    Assert.assertEquals(dense.weightOf(a, b), e.getWeight());
+                }
+            }
+        }
+        Assert.assertArrayEquals(Graphs.floydWarshall(dense), Graphs.floydWarshall(sparse));
+    }
+
+    @Test
+    public void testBitMatrix() {
+        Random rnd = new Random(29);
+        UndirectedArrayGraph sparse = new UndirectedArrayGraph(100);
+        UndirectedArrayGraph bits = new UndirectedArrayGraph(100, Layout.BITS);
+
+        // Rows grow past a word boundary
+        for (int i = 0; i < 50; i++) {
+            sparse.addVertex();
+            bits.addVertex();
+        }
+        for (int op = 0; op < 4000; op++) {
+            int a = rnd.nextInt(150);
+            int b = rnd.nextInt(150);
+            if (op % 5 == 0) {
+                sparse.removeEdge(a, b);
+                bits.removeEdge(a, b);
+            } else {
+                Assert.assertEquals(sparse.addEdge(a, b), bits.addEdge(a, b));
+            }
+        }
+        // Vertex 149 is only reached through vertex 148
+        for (int a = 0; a < 150; a++) {
+            sparse.removeEdge(a, 149);
+            bits.removeEdge(a, 149);
+        }
+        sparse.addEdge(148, 149);
+        bits.addEdge(148, 149);
+
+        Assert.assertEquals(sparse.sizeEdges(), bits.sizeEdges());
+        Assert.assertEquals(sparse.sizeEdges(), bits.edges().size());
+        for (Edge e : bits.edges()) {
+            Assert.assertNotNull(sparse.parseEdge(e.start().getKey(), e.end().getKey()));
+        }
+        for (int a = 0; a < 150; a++) {
+            Assert.assertEquals(keys(sparse.neighbours(a)).stream().sorted().toList(), keys(bits.neighbours(a)));
+            Assert.assertEquals(sparse.neighbours(a).size(), bits.parseVertex(a).degree());
+            Assert.assertEquals(sparse.commonNeighbours(a, 149 - a), bits.commonNeighbours(a, 149 - a));
+        }
+
+        BfsResult expected = Graphs.parallelBfs(sparse, 0);
+        BfsResult actual = Graphs.parallelBfs(bits, 0);
+        Assert.assertArrayEquals(expected.distances(), actual.distances());
+        Assert.assertEquals(expected.reached(), actual.reached());
+        for (int v = 1; v < 150; v++) {
+            Assert.assertNotNull(bits.parseEdge(actual.parents()[v], v));
+        }
+        Assert.assertEquals(Graphs.bfs(sparse, 0, 149).size(), actual.path(bits, 149).size());
+
+        bits.setValue(3, 42);
+        Assert.assertEquals(42, bits.parseVertex(3).getValue());
+        Assert.assertThrows(IllegalArgumentException.class, () -> new UndirectedWeightedArrayGraph(2, Layout.BITS).addEdge(0, 1, 2));
+        Assert.assertThrows(UnsupportedOperationException.class, () -> sparse.adjacencyWord(0, 0));
+    }
+
+    @Test
+    public void testCsrGraph() throws IOException {
+        Graph graph = weightedExampleGraph();
+        CsrGraph csr = CsrGraph.of(graph);
+
+        Assert.assertEquals(graph.sizeVertices(), csr.sizeVertices());
+        Assert.assertEquals(graph.sizeEdges(), csr.sizeEdges());
+        Assert.assertEquals(2 * graph.sizeEdges(), csr.sizeArcs());
+        Assert.assertEquals(graph.weightOf(5, 8), csr.weightOf(8, 5));
+        Assert.assertEquals(keys(Graphs.bfs(exampleGraph(), 2, 9)), keys(Graphs.bfs(CsrGraph.of(exampleGraph()), 2, 9)));
+
+        Graph g = graphLoader.loadFromFile("Graph2.dat");
+        CsrGraph loaded = graphLoader.loadCsrFromFile("Graph2.dat");
+
+        Assert.assertEquals(g.sizeEdges(), loaded.sizeEdges());
+        Assert.assertEquals(keys(Graphs.dijkstra(g, 0, 424)), keys(Graphs.dijkstra(loaded, 0, 424)));
+    }
+
+    @Test
+    public void testMeshNeighbours() {
+        for (MeshType type : MeshType.values()) {
+            ArrayMesh2D mesh = new ArrayMesh2D(5, 3, type);
+
+            for (Vertex v : mesh.vertices()) {
+                Set<Integer> expected = v.edges().stream().map(e -> e.getOther(v).getKey()).collect(Collectors.toSet());
+                Assert.assertEquals(expected, new HashSet<>(keys(mesh.neighbours(v.getKey()))));
+            }
+        }
+
+        ArrayMesh2D mesh = new ArrayMesh2D(5, 3, MeshType.ZYLINDER);
+        Assert.assertEquals(-1, mesh.neighbour(2, Direction.UP));
+        Assert.assertEquals(7, mesh.neighbour(2, Direction.DOWN));
+        Assert.assertEquals(5, mesh.neighbour(9, Direction.RIGHT));
+        Assert.assertEquals(9, mesh.neighbour(5, Direction.LEFT));
+        mesh.setMeshType(MeshType.DONUT);
+        Assert.assertEquals(12, mesh.neighbour(2, Direction.UP));
+        Assert.assertEquals(2, mesh.neighbour(12, Direction.DOWN));
+    }
+
+    @Test
+    public void testImplicitMesh2D() {
+        ArrayMesh2D mesh = graphLoader.donut(7, 5);
+        ImplicitMesh2D implicit = new ImplicitMesh2D(7, 5, MeshType.DONUT);
+
+        Assert.assertEquals(mesh.sizeEdges(), implicit.sizeEdges());
+        Assert.assertEquals(mesh.edges().size(), implicit.edges().size());
+        for (Edge e : mesh.edges()) {
+            Assert.assertNotNull(implicit.parseEdge(e.end().getKey(), e.start().getKey()));
+        }
+        Assert.assertEquals(4, implicit.neighbours(0).size());
+        Assert.assertEquals(Graphs.bfs(mesh, 0, 24).size(), Graphs.bfs(implicit, 0, 24).size());
+
+        implicit.addEdge(8, 9, 5);
+        Assert.assertEquals(5, implicit.weightOf(9, 8));
+        Assert.assertFalse(implicit.addEdge(0, 8));
+
+        implicit.removeEdge(6, 0);
+        Assert.assertNull(implicit.parseEdge(0, 6));
+        Assert.assertEquals(3, implicit.neighbours(6).size());
+        Assert.assertEquals(mesh.sizeEdges() - 1, implicit.sizeEdges());
+    }
+
+    private static List<Integer> keys(List<Vertex> path) {
+        return path.stream().map(Vertex::getKey).toList();
+    }
+
     @Test
     public void testTree() {
         Tree tree = new UndirectedTree(10);
@@ -1,9 +1,17 @@
 package target.test;
 
+import java.util.List;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import src.util.queues.BinaryHeap;
+import src.util.queues.BucketQueue;
 import src.util.queues.FibonacciHeap;
+import src.util.queues.Heap;
+import src.util.queues.IndexedIntMinHeap;
+import src.util.queues.IntPriorityQueue;
 import src.util.queues.PriorityQueue;
 
 public class TestHeap {
@@ -59,6 +67,162 @@ public class TestHeap {
 
     }
 
+    @Test
+    public void testIndexedIntMinHeap() {
+        Random rnd = new Random(42);
+        PriorityQueue<Integer> reference = new BinaryHeap<>();
+        IntPriorityQueue heap = new IndexedIntMinHeap(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int prio = rnd.nextInt(100);
+            reference.push(i, prio);
+            heap.push(i, prio);
+        }
+
+        while (!reference.isEmpty()) {
+            for (int i = 0; i < 5; i++) {
+                int e = rnd.nextInt(1000);
+                int prio = rnd.nextInt(100);
+                reference.decPrio(e, prio);
+                heap.decPrio(e, prio);
+            }
+            Assert.assertEquals(reference.size(), heap.size());
+            Assert.assertEquals(reference.popMin().intValue(), heap.popMin());
+        }
+
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testBucketQueue() {
+        Random rnd = new Random(3);
+        IndexedIntMinHeap reference = new IndexedIntMinHeap(1000);
+        BucketQueue buckets = new BucketQueue(1000, 16);
+        long min = 0;
+
+        // Like in Dijkstras Algorithm, pushed priorities are at most 15 larger than the last minimum
+        for (int op = 0; op < 20000; op++) {
+            int e = rnd.nextInt(1000);
+            long prio = min + rnd.nextInt(16);
+            if (rnd.nextInt(3) > 0) {
+                if (reference.contains(e)) {
+                    reference.decPrio(e, prio);
+                    buckets.decPrio(e, prio);
+                } else {
+                    reference.push(e, prio);
+                    Assert.assertTrue(buckets.push(e, prio));
+                }
+            } else if (!reference.isEmpty()) {
+                int actual = buckets.popMin();
+                min = buckets.prioOf(actual);
+                // Ties may be broken differently, thus the reference removes the same element
+                Assert.assertEquals(reference.prioOf(reference.peek()), min);
+                reference.decPrio(actual, min - 1);
+                Assert.assertEquals(actual, reference.popMin());
+            }
+            Assert.assertEquals(reference.size(), buckets.size());
+        }
+
+        while (!reference.isEmpty()) {
+            Assert.assertEquals(reference.prioOf(reference.peek()), buckets.prioOf(buckets.peek()));
+            reference.decPrio(buckets.peek(), Long.MIN_VALUE);
+            Assert.assertEquals(reference.popMin(), buckets.popMin());
+        }
+
+        buckets.push(0, 100);
+        Assert.assertFalse(buckets.push(0, 100));
+        Assert.assertThrows(IllegalArgumentException.class, () -> buckets.push(1, 116));
+        buckets.push(1, 115);
+        // Pushing below the smallest priority must keep the largest one in the window
+        Assert.assertThrows(IllegalArgumentException.class, () -> buckets.push(2, 99));
+        buckets.push(2, 100);
+        Assert.assertEquals(2, buckets.popMin());
+        Assert.assertEquals(0, buckets.popMin());
+        // The largest priority pushed is no longer queued, thus the window may move below it
+        buckets.decPrio(1, 101);
+        buckets.push(2, 90);
+        Assert.assertEquals(2, buckets.popMin());
+        Assert.assertEquals(1, buckets.popMin());
+        buckets.push(0, 100);
+        buckets.push(1, 115);
+        buckets.clear();
+        Assert.assertTrue(buckets.isEmpty());
+        Assert.assertFalse(buckets.contains(0));
+    }
+
+    @Test
+    public void testDifferential() {
+        Random rnd = new Random(7);
+
+        for (int round = 0; round < 20; round++) {
+            PriorityQueue<Integer> reference = new BinaryHeap<>();
+            List<PriorityQueue<Integer>> heaps = List.of(new Heap<>(), new FibonacciHeap<>());
+            int[] prios = new int[2000];
+            int next = 0;
+
+            for (int op = 0; op < 10000; op++) {
+                int choice = rnd.nextInt(10);
+                if (choice < 4 && next < prios.length) {
+                    // Priorities are distinct, thus all heaps pop the same elements
+                    prios[next] = rnd.nextInt(1000) * prios.length + next;
+                    reference.push(next, prios[next]);
+                    for (PriorityQueue<Integer> heap : heaps) {
+                        heap.push(next, prios[next]);
+                    }
+                    next++;
+                } else if (choice < 7 && next > 0) {
+                    int e = rnd.nextInt(next);
+                    int prio = rnd.nextInt(1000) * prios.length + e;
+                    // BinaryHeap also accepts larger priorities
+                    if (prio < prios[e]) {
+                        prios[e] = prio;
+                        reference.decPrio(e, prio);
+                    }
+                    for (PriorityQueue<Integer> heap : heaps) {
+                        heap.decPrio(e, prio);
+                    }
+                } else if (!reference.isEmpty()) {
+                    int expected = reference.popMin();
+                    for (PriorityQueue<Integer> heap : heaps) {
+                        Assert.assertEquals(expected, heap.peek().intValue());
+                        Assert.assertEquals(expected, heap.popMin().intValue());
+                    }
+                }
+
+                for (PriorityQueue<Integer> heap : heaps) {
+                    Assert.assertEquals(reference.size(), heap.size());
+                }
+            }
+
+            for (PriorityQueue<Integer> heap : heaps) {
+                Assert.assertEquals(reference.contents(), heap.contents());
+            }
+        }
+    }
+
+    @Test
+    public void testLargeHeap() {
+        for (PriorityQueue<Integer> heap : List.of(new Heap<Integer>(), new FibonacciHeap<Integer>())) {
+            for (int i = 0; i < 100000; i++) {
+                heap.push(i, 100000 - i);
+            }
+            for (int i = 0; i < 100000; i += 3) {
+                heap.decPrio(i, -i);
+            }
+            int previous = Integer.MIN_VALUE;
+            int popped = 0;
+            while (!heap.isEmpty()) {
+                int e = heap.popMin();
+                int prio = e % 3 == 0 ? -e : 100000 - e;
+                Assert.assertTrue(prio >= previous);
+                previous = prio;
+                popped++;
+            }
+            Assert.assertEquals(100000, popped);
+            Assert.assertNull(heap.popMin());
+        }
+    }
+
     public static void main(String[] args) {
         PriorityQueue<Integer> fh = new FibonacciHeap<>();
         for (int i = 0; i < 65; i++) {
@@ -1,11 +1,94 @@
 package target.test;
 
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
 import org.junit.Test;
 
+import src.graph.graph.interfaces.UnionFind;
+import src.graph.graph.models.directed.ArrayUnionFind;
+import src.graph.graph.models.directed.ComponentSet;
+import src.graph.graph.models.directed.ConcurrentUnionFind;
+
 public class TestUnionFind {
     
     @Test
     public void test() {
-        // To be implemented
+        for (UnionFind uf : new UnionFind[] {new ComponentSet(10), new ArrayUnionFind(10), new ConcurrentUnionFind(10)}) {
+            uf.union(0, 1);
+            uf.union(2, 3);
+            uf.union(1, 3);
+            uf.union(7, 8);
+            uf.union(8, 7);
+
+            Assert.assertEquals(10, uf.size());
+            Assert.assertEquals(uf.find(0), uf.find(2));
+            Assert.assertEquals(uf.find(3), uf.find(1));
+            Assert.assertEquals(uf.find(7), uf.find(8));
+            Assert.assertNotEquals(uf.find(0), uf.find(7));
+            Assert.assertEquals(4, uf.find(4));
+        }
+    }
+
+    @Test
+    public void testArrayUnionFind() {
+        ArrayUnionFind uf = new ArrayUnionFind();
+        for (int i = 0; i < 100; i++) {
+            uf.add();
+        }
+
+        for (int i = 0; i < 99; i += 2) {
+            Assert.assertTrue(uf.unite(i, i + 1));
+        }
+        Assert.assertFalse(uf.unite(1, 0));
+        Assert.assertEquals(50, uf.components());
+
+        for (int i = 0; i < 96; i += 4) {
+            uf.union(i, i + 3);
+        }
+        Assert.assertEquals(26, uf.components());
+        Assert.assertEquals(4, uf.componentSize(5));
+        Assert.assertTrue(uf.connected(0, 2));
+        Assert.assertFalse(uf.connected(97, 98));
+    }
+
+    @Test
+    public void testConcurrentUnionFind() throws InterruptedException {
+        int n = 20000;
+        int[] a = new int[n];
+        int[] b = new int[n];
+        Random random = new Random(5);
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt(n);
+            b[i] = random.nextInt(n);
+        }
+
+        ArrayUnionFind expected = new ArrayUnionFind(n);
+        for (int i = 0; i < n; i++) {
+            expected.union(a[i], b[i]);
+        }
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                for (int i = offset; i < n; i += 4) {
+                    uf.union(a[i], b[i]);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (int v = 0; v < n; v++) {
+            int root = uf.find(v);
+            Assert.assertTrue(root <= v);
+            Assert.assertTrue(expected.connected(v, root));
+            Assert.assertEquals(expected.find(v) == expected.find(0), uf.connected(v, 0));
+        }
     }
 }